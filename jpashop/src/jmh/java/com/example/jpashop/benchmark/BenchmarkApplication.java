@@ -0,0 +1,142 @@
+package com.example.jpashop.benchmark;
+
+import com.example.jpashop.JpashopApplication;
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Delivery;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.domain.item.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크용 jpashop 애플리케이션 컨텍스트
+ * 내장 H2(메모리)에 연결하고 SQL 로그와 p6spy 를 끄며, SQL 실행 횟수를 세기 위해 Hibernate 통계를 켠다.
+ */
+public class BenchmarkApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * overrides 는 key=value 형식으로 기본 설정을 덮어쓴다.
+     */
+    public static BenchmarkApplication start(String... overrides) {
+        return start(WebApplicationType.NONE, overrides);
+    }
+
+    /**
+     * 임의 포트로 내장 톰캣까지 띄운다. (부하 테스트용, port() 로 포트 확인)
+     */
+    public static BenchmarkApplication startWeb(String... overrides) {
+        String[] withPort = new String[overrides.length + 1];
+        withPort[0] = "server.port=0";
+        System.arraycopy(overrides, 0, withPort, 1, overrides.length);
+        return start(WebApplicationType.SERVLET, withPort);
+    }
+
+    private static BenchmarkApplication start(WebApplicationType webApplicationType, String... overrides) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("decorator.datasource.enabled", "false");
+        properties.put("logging.level.root", "warn");
+        properties.put("logging.level.org.hibernate.SQL", "warn");
+        properties.put("spring.main.banner-mode", "off");
+        for (String override : overrides) {
+            int index = override.indexOf('=');
+            properties.put(override.substring(0, index), override.substring(index + 1));
+        }
+
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JpashopApplication.class)
+                .web(webApplicationType)
+                .run(args);
+        return new BenchmarkApplication(context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public TransactionTemplate transactionTemplate(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(getBean(PlatformTransactionManager.class));
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    public Statistics statistics() {
+        return getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * 회원 1명당 주문 1개, 주문마다 서로 다른 상품 itemsPerOrder 개를 저장한다.
+     */
+    public void seedOrders(int orders, int itemsPerOrder) {
+        int chunkSize = 500;
+        for (int from = 0; from < orders; from += chunkSize) {
+            int to = Math.min(from + chunkSize, orders);
+            int start = from;
+            transactionTemplate(false).executeWithoutResult(status -> {
+                EntityManager em = getBean(EntityManager.class);
+                for (int i = start; i < to; i++) {
+                    persistOrder(em, i, itemsPerOrder);
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+    }
+
+    private void persistOrder(EntityManager em, int index, int itemsPerOrder) {
+        Member member = new Member();
+        member.setName("member" + index);
+        member.setAddress(new Address("서울", "street" + index, "12345"));
+        em.persist(member);
+
+        List<OrderItem> orderItems = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            Book book = new Book();
+            book.setName("book" + index + "-" + i);
+            book.setPrice(10000);
+            book.setStockQuantity(100);
+            em.persist(book);
+            orderItems.add(OrderItem.createOrderItem(book, book.getPrice(), 1));
+        }
+
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        em.persist(Order.createOrder(member, delivery, orderItems.toArray(new OrderItem[0])));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
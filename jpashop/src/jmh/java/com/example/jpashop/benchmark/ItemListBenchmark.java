@@ -0,0 +1,141 @@
+package com.example.jpashop.benchmark;
+
+import com.example.jpashop.domain.item.Album;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.domain.item.Movie;
+import com.example.jpashop.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 목록 조회 방식 비교 (SINGLE_TABLE, Book / Album / Movie 를 1/3 씩 저장)
+ *
+ * entity       : ItemRepository.findAll(), 하위 타입 컬럼까지 모든 컬럼을 읽고 엔티티 + 스냅샷 생성
+ * summary      : ItemRepository.findSummaries(), 공통 컬럼 5개만 읽는 projection
+ * summary-book : ItemRepository.findSummaries("Book"), dtype 인덱스로 Book 만 조회
+ *
+ *   ./gradlew jmh -PjmhArgs='ItemListBenchmark -prof gc'
+ * setUp 에서 방식별로 전송되는 row 의 평균 byte 수(값 크기 합)를 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemListBenchmark {
+
+    private static final String ENTITY_COLUMNS = "select * from item";
+    private static final String SUMMARY_COLUMNS = "select item_id, dtype, name, price, stock_quantity from item";
+
+    @Param({"3000"})
+    int items;
+
+    @Param({"entity", "summary", "summary-book"})
+    String mode;
+
+    BenchmarkApplication application;
+    TransactionTemplate transactionTemplate;
+    ItemRepository itemRepository;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        seedItems();
+
+        transactionTemplate = application.transactionTemplate(true);
+        itemRepository = application.getBean(ItemRepository.class);
+
+        String sql = switch (mode) {
+            case "entity" -> ENTITY_COLUMNS;
+            case "summary" -> SUMMARY_COLUMNS;
+            default -> SUMMARY_COLUMNS + " where dtype = 'Book'";
+        };
+        long[] totals = rowBytes(application.getBean(JdbcTemplate.class), sql);
+        System.out.printf("%n[%s] rows = %d, bytes = %d, bytes/row = %.1f%n",
+                mode, totals[0], totals[1], (double) totals[1] / totals[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int itemList() {
+        return transactionTemplate.execute(status -> switch (mode) {
+            case "entity" -> itemRepository.findAll().size();
+            case "summary" -> itemRepository.findSummaries().size();
+            default -> itemRepository.findSummaries("Book").size();
+        });
+    }
+
+    private void seedItems() {
+        application.transactionTemplate(false).executeWithoutResult(status -> {
+            EntityManager em = application.getBean(EntityManager.class);
+            for (int i = 0; i < items; i++) {
+                em.persist(createItem(i));
+            }
+        });
+    }
+
+    private static Item createItem(int index) {
+        Item item;
+        switch (index % 3) {
+            case 0 -> {
+                Book book = new Book();
+                book.setAuthor("author" + index);
+                book.setIsbn("978-89-" + String.format("%07d", index));
+                item = book;
+            }
+            case 1 -> {
+                Album album = new Album();
+                album.setArtist("artist" + index);
+                album.setEtc("etc etc etc etc etc etc " + index);
+                item = album;
+            }
+            default -> {
+                Movie movie = new Movie();
+                movie.setDirector("director" + index);
+                movie.setActor("actor" + index);
+                item = movie;
+            }
+        }
+        item.setName("item" + index);
+        item.setPrice(10000);
+        item.setStockQuantity(100);
+        return item;
+    }
+
+    /**
+     * [row 수, 값 크기 합] 문자열은 UTF-8 길이, 숫자는 타입 크기, null 은 0 으로 센다.
+     */
+    private static long[] rowBytes(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.query(sql, (ResultSet rs) -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            long rows = 0;
+            long bytes = 0;
+            while (rs.next()) {
+                rows++;
+                for (int column = 1; column <= meta.getColumnCount(); column++) {
+                    Object value = rs.getObject(column);
+                    if (value instanceof String s) {
+                        bytes += s.getBytes(StandardCharsets.UTF_8).length;
+                    } else if (value != null) {
+                        bytes += meta.getColumnType(column) == Types.INTEGER ? Integer.BYTES : Long.BYTES;
+                    }
+                }
+            }
+            return new long[]{rows, bytes};
+        });
+    }
+}
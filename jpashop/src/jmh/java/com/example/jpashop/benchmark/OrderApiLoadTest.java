@@ -0,0 +1,190 @@
+package com.example.jpashop.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 주문 조회 API 부하 테스트
+ * endpoint 마다 threads 개의 스레드가 동시에 요청을 반복하고 응답 시간 p50 / p99 / max 와 처리량을 출력한다.
+ * baseUrl 이 없으면 jpashop.dataset 으로 데이터를 생성한 애플리케이션을 임의 포트로 띄운다.
+ *
+ *   ./gradlew loadTest -PloadTestArgs='threads=16 duration=20 jpashop.dataset.orders=5000'
+ *   ./gradlew loadTest -PloadTestArgs='baseUrl=http://localhost:8080 endpoints=/api/v5/orders,/api/v7/orders'
+ *
+ * threads, duration(초), warmup(초), endpoints, baseUrl 외의 key=value 는 애플리케이션 설정으로 넘긴다.
+ */
+public class OrderApiLoadTest {
+
+    private static final String DEFAULT_ENDPOINTS = String.join(",",
+            "/api/v3.1/orders?offset=0&limit=100",
+            "/api/v3.2/orders?limit=100",
+            "/api/v5/orders",
+            "/api/v6/orders",
+            "/api/v7/orders?limit=100");
+
+    private static final String USAGE =
+            "usage: OrderApiLoadTest [threads=N] [duration=초] [warmup=초] [endpoints=path,...] [baseUrl=URL] [설정key=value ...]";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("threads", "8");
+        options.put("duration", "10");
+        options.put("warmup", "5");
+        options.put("endpoints", DEFAULT_ENDPOINTS);
+
+        List<String> overrides = new ArrayList<>(List.of(
+                "jpashop.dataset.enabled=true",
+                "jpashop.dataset.orders=2000"));
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index <= 0) {
+                System.err.println("잘못된 인자입니다. key=value 형식이어야 합니다: " + arg);
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+            String key = arg.substring(0, index);
+            if (options.containsKey(key) || key.equals("baseUrl")) {
+                options.put(key, arg.substring(index + 1));
+            } else {
+                overrides.add(arg);
+            }
+        }
+
+        BenchmarkApplication application = null;
+        String baseUrl = options.get("baseUrl");
+        if (baseUrl == null) {
+            long start = System.nanoTime();
+            application = BenchmarkApplication.startWeb(overrides.toArray(new String[0]));
+            baseUrl = "http://localhost:" + application.port();
+            System.out.printf("애플리케이션 시작 (데이터 생성 포함) %dms, %s%n", (System.nanoTime() - start) / 1_000_000, overrides);
+        }
+
+        int threads = Integer.parseInt(options.get("threads"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            System.out.printf("threads=%d, warmup=%ss, duration=%ss%n%n", threads, warmup.toSeconds(), duration.toSeconds());
+            System.out.printf("%-40s %10s %8s %10s %10s %10s %10s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+
+            for (String endpoint : options.get("endpoints").split(",")) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.trim()))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                run(client, executor, request, threads, warmup);
+                Result result = run(client, executor, request, threads, duration);
+                System.out.printf("%-40s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                        endpoint.trim(), result.requests(), result.errors(),
+                        result.requests() / (result.elapsedNanos() / 1e9),
+                        millis(result.percentile(0.50)), millis(result.percentile(0.99)), millis(result.percentile(1.0)));
+            }
+        } finally {
+            executor.shutdownNow();
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    /**
+     * 스레드마다 마감 시각까지 요청을 반복한다. 응답 시간은 스레드별로 모았다가 합친다.
+     */
+    private static Result run(HttpClient client, ExecutorService executor, HttpRequest request,
+                              int threads, Duration duration) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        List<Future<Latencies>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                Latencies latencies = new Latencies();
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    latencies.add(System.nanoTime() - begin, ok);
+                }
+                return latencies;
+            }));
+        }
+
+        Latencies all = new Latencies();
+        for (Future<Latencies> future : futures) {
+            all.addAll(future.get());
+        }
+        return all.toResult(System.nanoTime() - start);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Latencies {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latency, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+
+        Result toResult(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Result(sorted, errors, elapsedNanos);
+        }
+    }
+
+    private record Result(long[] sorted, long errors, long elapsedNanos) {
+
+        long requests() {
+            return sorted.length;
+        }
+
+        /**
+         * nearest-rank 방식
+         */
+        long percentile(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.jpashop.benchmark;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Delivery;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.domain.item.Item;
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 저장(주문 + 주문상품 + 배송 insert) 처리량을 id 할당 방식 별로 비교
+ *
+ * baseline : IdGeneration 도입 전 기본값, @GeneratedValue 만 쓰면 Hibernate 6 은
+ *            엔티티별 시퀀스를 allocationSize 50 의 pooled optimizer 로 사용한다. (META-INF/id-baseline-orm.xml)
+ * current  : 현재 설정, 주문 / 주문상품 / 배송 allocationSize 100 + pooled-lo
+ * none     : 참고용, insert 마다 시퀀스 조회 (allocationSize 무시, 실제로 쓰던 설정은 아니다.)
+ *
+ * baseline 도 이미 50건마다 시퀀스를 조회하므로 current 와의 차이는 시퀀스 조회가 주문당 0.06 -> 0.03 번으로 줄어드는 정도다.
+ * (H2 메모리 DB 에서 SQL/order 는 baseline 0.09, current 0.06, none 3.03 이고 처리량 차이는 오차 범위 안이다.)
+ *
+ *   ./gradlew jmh -PjmhArgs='OrderInsertBenchmark'
+ * 점수는 초당 저장한 주문 수이고, 주문 1건당 SQL 실행 횟수는 벤치마크 종료 시 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    static final int ORDERS_PER_TRANSACTION = 100;
+
+    @Param({"baseline", "current", "none"})
+    String ids;
+
+    @Param({"100"})
+    int batchSize;
+
+    BenchmarkApplication application;
+    TransactionTemplate transactionTemplate;
+    Statistics statistics;
+    Long memberId;
+    Long itemId;
+
+    long orders;
+
+    @Setup
+    public void setUp() {
+        List<String> settings = new ArrayList<>(idSettings());
+        settings.add("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        application = BenchmarkApplication.start(settings.toArray(String[]::new));
+        transactionTemplate = application.transactionTemplate(false);
+        statistics = application.statistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager em = application.getBean(EntityManager.class);
+            Member member = new Member();
+            member.setName("member");
+            member.setAddress(new Address("서울", "street", "12345"));
+            em.persist(member);
+
+            Book book = new Book();
+            book.setName("book");
+            book.setPrice(10000);
+            book.setStockQuantity(Integer.MAX_VALUE);
+            em.persist(book);
+
+            memberId = member.getId();
+            itemId = book.getId();
+        });
+        statistics.clear();
+    }
+
+    private List<String> idSettings() {
+        return switch (ids) {
+            case "baseline" -> List.of(
+                    "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled",
+                    "spring.jpa.mapping-resources=META-INF/id-baseline-orm.xml");
+            case "current" -> List.of();
+            case "none" -> List.of("spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=none");
+            default -> throw new IllegalArgumentException(ids);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s SQL/order = %.2f%n", ids,
+                (double) statistics.getPrepareStatementCount() / orders);
+        application.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_TRANSACTION)
+    public void insertOrders() {
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager em = application.getBean(EntityManager.class);
+            Member member = em.getReference(Member.class, memberId);
+            Item item = em.getReference(Item.class, itemId);
+
+            for (int i = 0; i < ORDERS_PER_TRANSACTION; i++) {
+                Delivery delivery = new Delivery();
+                delivery.setAddress(new Address("서울", "street", "12345"));
+                OrderItem orderItem = OrderItem.createReservedOrderItem(item, 10000, 1);
+                em.persist(Order.createOrder(member, delivery, orderItem));
+            }
+            em.flush();
+            em.clear();
+        });
+        orders += ORDERS_PER_TRANSACTION;
+    }
+}
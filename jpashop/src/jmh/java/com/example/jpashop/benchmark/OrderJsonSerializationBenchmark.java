@@ -0,0 +1,116 @@
+package com.example.jpashop.benchmark;
+
+import com.example.jpashop.api.json.OrderJsonModule;
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Delivery;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.repository.order.query.OrderItemQueryDto;
+import com.example.jpashop.repository.order.query.OrderQueryDto;
+import com.example.jpashop.service.query.OrderDto;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 조회 DTO 목록(주문 10,000 개, 주문상품 3 개씩) JSON 직렬화 비교, DB 없이 메모리의 DTO 만 직렬화한다.
+ *
+ * bean      : 기본 bean 직렬화 (getter + 필드 이름 매번 기록)
+ * streaming : OrderJsonModule (JsonGenerator 로 직접 기록)
+ *
+ *   ./gradlew jmh -PjmhArgs='OrderJsonSerializationBenchmark -prof gc'
+ * 출력은 버리므로(OutputStream.nullOutputStream) 직렬화 비용만 측정된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderJsonSerializationBenchmark {
+
+    @Param({"10000"})
+    int orders;
+
+    @Param({"OrderDto", "OrderQueryDto"})
+    String dto;
+
+    @Param({"bean", "streaming"})
+    String mode;
+
+    List<?> values;
+    ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        values = "OrderDto".equals(dto) ? orderDtos() : orderQueryDtos();
+
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("streaming".equals(mode)) {
+            builder.addModule(new OrderJsonModule());
+        }
+        writer = builder.build().writer();
+    }
+
+    @Benchmark
+    public List<?> serialize() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), values);
+        return values;
+    }
+
+    private List<OrderDto> orderDtos() {
+        List<OrderDto> result = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            Member member = new Member();
+            member.setName("member" + i);
+            Delivery delivery = new Delivery();
+            delivery.setAddress(address(i));
+
+            OrderItem[] orderItems = new OrderItem[3];
+            for (int j = 0; j < orderItems.length; j++) {
+                Book book = new Book();
+                book.setName("book" + i + "-" + j);
+                book.setPrice(10000 + j * 1000);
+                book.setStockQuantity(100);
+                orderItems[j] = OrderItem.createOrderItem(book, book.getPrice(), j + 1);
+            }
+            result.add(new OrderDto(Order.createOrder(member, delivery, orderItems)));
+        }
+        return result;
+    }
+
+    private List<OrderQueryDto> orderQueryDtos() {
+        List<OrderQueryDto> result = new ArrayList<>(orders);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < orders; i++) {
+            long orderId = i;
+            List<OrderItemQueryDto> orderItems = new ArrayList<>(3);
+            int totalPrice = 0;
+            for (int j = 0; j < 3; j++) {
+                orderItems.add(new OrderItemQueryDto(orderId, "book" + i + "-" + j, 10000 + j * 1000, j + 1));
+                totalPrice += (10000 + j * 1000) * (j + 1);
+            }
+            result.add(new OrderQueryDto(orderId, "member" + i, now.minusMinutes(i), OrderStatus.ORDER,
+                    address(i), totalPrice, orderItems));
+        }
+        return result;
+    }
+
+    private static Address address(int index) {
+        return new Address("서울", "street" + index, "12345");
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.jpashop.benchmark;
+
+import com.example.jpashop.api.OrderApiController;
+import com.example.jpashop.api.SimpleApiController;
+import com.example.jpashop.repository.OrderRepository;
+import com.example.jpashop.repository.order.OrderVersionProbe;
+import com.example.jpashop.service.query.OrderQueryService;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * OrderApiController(V1 ~ V6), SimpleApiController(V1 ~ V4) 조회 전략 비교
+ *
+ * 각 호출은 OSIV 처럼 하나의 읽기 전용 트랜잭션 안에서 실행한다. (JSON 직렬화 제외)
+ * ETag(조건부 GET) 를 확인하는 V2, simple V4 는 컨트롤러가 호출하는 조회만 측정하고,
+ * ETag 계산(OrderVersionProbe, 메모리 변경 번호) 비용은 etagV2, etagSimpleV4 로 따로 측정한다.
+ * 할당량은 GC 프로파일러로 확인한다.
+ *   ./gradlew jmh -PjmhArgs='OrderQueryStrategyBenchmark -prof gc -p orders=1000'
+ * 전략별 호출 1번당 SQL 실행 횟수는 벤치마크 종료 시 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderQueryStrategyBenchmark {
+
+    @Param({"100", "1000"})
+    int orders;
+
+    @Param({"3"})
+    int itemsPerOrder;
+
+    BenchmarkApplication application;
+    OrderApiController orderApiController;
+    SimpleApiController simpleApiController;
+    OrderQueryService orderQueryService;
+    OrderRepository orderRepository;
+    OrderVersionProbe orderVersionProbe;
+    TransactionTemplate readOnly;
+    Statistics statistics;
+
+    // 전략별 [호출 횟수, SQL 실행 횟수]
+    final Map<String, AtomicLong[]> sqlCounts = new TreeMap<>();
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        application.seedOrders(orders, itemsPerOrder);
+
+        orderApiController = application.getBean(OrderApiController.class);
+        simpleApiController = application.getBean(SimpleApiController.class);
+        orderQueryService = application.getBean(OrderQueryService.class);
+        orderRepository = application.getBean(OrderRepository.class);
+        orderVersionProbe = application.getBean(OrderVersionProbe.class);
+        readOnly = application.transactionTemplate(true);
+        statistics = application.statistics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sqlCounts.forEach((strategy, counts) -> System.out.printf("%n%-10s SQL/op = %.1f", strategy,
+                (double) counts[1].get() / counts[0].get()));
+        System.out.println();
+        application.close();
+    }
+
+    @Benchmark
+    public Object orderV1() {
+        return measure("orderV1", () -> orderApiController.ordersV1());
+    }
+
+    @Benchmark
+    public Object orderV2() {
+        return measure("orderV2", () -> orderQueryService.ordersV2());
+    }
+
+    @Benchmark
+    public Object orderV3() {
+        return measure("orderV3", () -> orderApiController.ordersV3());
+    }
+
+    @Benchmark
+    public Object orderV3_1() {
+        return measure("orderV3.1", () -> orderApiController.ordersV3_page(0, orders));
+    }
+
+    @Benchmark
+    public Object orderV4() {
+        return measure("orderV4", () -> orderApiController.ordersV4());
+    }
+
+    @Benchmark
+    public Object orderV5() {
+        return measure("orderV5", () -> orderApiController.ordersV5());
+    }
+
+    @Benchmark
+    public Object orderV6() {
+        return measure("orderV6", () -> orderApiController.ordersV6());
+    }
+
+    @Benchmark
+    public Object simpleV1() {
+        return measure("simpleV1", () -> simpleApiController.ordersV1());
+    }
+
+    @Benchmark
+    public Object simpleV2() {
+        return measure("simpleV2", () -> simpleApiController.ordersV2());
+    }
+
+    @Benchmark
+    public Object simpleV3() {
+        return measure("simpleV3", () -> simpleApiController.ordersV3());
+    }
+
+    @Benchmark
+    public Object simpleV4() {
+        return measure("simpleV4", () -> orderRepository.findOrderDtos());
+    }
+
+    @Benchmark
+    public Object etagV2() {
+        return measure("etagV2", () -> orderVersionProbe.ordersWithItemsEtag());
+    }
+
+    @Benchmark
+    public Object etagSimpleV4() {
+        return measure("etagSimpleV4", () -> orderVersionProbe.simpleOrdersEtag());
+    }
+
+    private Object measure(String strategy, Supplier<Object> query) {
+        long before = statistics.getPrepareStatementCount();
+        Object result = readOnly.execute(status -> query.get());
+
+        AtomicLong[] counts = sqlCounts.computeIfAbsent(strategy, key -> new AtomicLong[]{new AtomicLong(), new AtomicLong()});
+        counts[0].incrementAndGet();
+        counts[1].addAndGet(statistics.getPrepareStatementCount() - before);
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.jpashop.benchmark;
+
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.domain.QMember;
+import com.example.jpashop.domain.QOrder;
+import com.example.jpashop.repository.OrderRepository;
+import com.example.jpashop.repository.OrderSearch;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 검색(OrderSearch) 쿼리 생성 방식 비교, 결과가 적어서 쿼리 생성 / 파싱 비용이 드러나도록 한다.
+ *
+ * concat          : 호출마다 JPQL 문자열을 이어 붙여서 createQuery (이전 OrderRepository.findAll)
+ * named           : 조건 조합별 named query (OrderRepository.findAll)
+ * querydsl-new    : 호출마다 new JPAQueryFactory(em) (이전 OrderRepository.findAllByQueryDsl)
+ * querydsl-shared : 공유 JPAQueryFactory 빈 (OrderRepository.findAllByQueryDsl)
+ *
+ *   ./gradlew jmh -PjmhArgs='OrderSearchBenchmark -prof gc'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSearchBenchmark {
+
+    @Param({"none", "status", "name", "status-name"})
+    String shape;
+
+    @Param({"concat", "named", "querydsl-new", "querydsl-shared"})
+    String mode;
+
+    BenchmarkApplication application;
+    TransactionTemplate transactionTemplate;
+    EntityManager em;
+    OrderRepository orderRepository;
+    OrderSearch orderSearch;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        application.seedOrders(20, 1);
+
+        transactionTemplate = application.transactionTemplate(true);
+        em = application.getBean(EntityManager.class);
+        orderRepository = application.getBean(OrderRepository.class);
+
+        orderSearch = new OrderSearch();
+        if (shape.contains("status")) {
+            orderSearch.setOrderStatus(OrderStatus.ORDER);
+        }
+        if (shape.contains("name")) {
+            orderSearch.setMemberName("member1%");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int search() {
+        return transactionTemplate.execute(status -> switch (mode) {
+            case "concat" -> concat(orderSearch).size();
+            case "named" -> orderRepository.findAll(orderSearch).size();
+            case "querydsl-new" -> queryDslNewFactory(orderSearch).size();
+            default -> orderRepository.findAllByQueryDsl(orderSearch).size();
+        });
+    }
+
+    private List<Order> concat(OrderSearch orderSearch) {
+        String jpql = "select o From Order o join o.member m";
+        boolean isFirstCondition = true;
+
+        if (orderSearch.getOrderStatus() != null) {
+            jpql += isFirstCondition ? " where" : " and";
+            isFirstCondition = false;
+            jpql += " o.status = :status";
+        }
+        if (StringUtils.hasText(orderSearch.getMemberName())) {
+            jpql += isFirstCondition ? " where" : " and";
+            jpql += " m.name like :name";
+        }
+
+        TypedQuery<Order> query = em.createQuery(jpql, Order.class).setMaxResults(1000);
+        if (orderSearch.getOrderStatus() != null) {
+            query.setParameter("status", orderSearch.getOrderStatus());
+        }
+        if (StringUtils.hasText(orderSearch.getMemberName())) {
+            query.setParameter("name", orderSearch.getMemberName());
+        }
+        return query.getResultList();
+    }
+
+    private List<Order> queryDslNewFactory(OrderSearch orderSearch) {
+        QOrder order = QOrder.order;
+        QMember member = QMember.member;
+        return new JPAQueryFactory(em)
+                .select(order)
+                .from(order)
+                .join(order.member, member)
+                .where(orderSearch.getOrderStatus() == null ? null : order.status.eq(orderSearch.getOrderStatus()),
+                        StringUtils.hasText(orderSearch.getMemberName()) ? member.name.like(orderSearch.getMemberName()) : null)
+                .limit(1000)
+                .fetch();
+    }
+}
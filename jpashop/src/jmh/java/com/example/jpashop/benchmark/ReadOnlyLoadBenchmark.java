@@ -0,0 +1,75 @@
+package com.example.jpashop.benchmark;
+
+import com.example.jpashop.domain.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 목록(주문 + 회원 + 배송 + 주문상품 + 상품 fetch join) 로딩 시 읽기 전용 처리 방식 비교
+ *
+ * read-write     : 쓰기 트랜잭션, 엔티티마다 스냅샷을 만들고 커밋 시 flush 하면서 dirty checking
+ * read-only-tx   : @Transactional(readOnly = true), Spring 이 FlushMode.MANUAL + defaultReadOnly 로 설정
+ * read-only-hint : 쓰기 트랜잭션이지만 쿼리에 read only 힌트
+ *                  (할당이 거의 줄지 않고, 같은 영속성 컨텍스트의 이후 수정이 유실될 수 있어 OrderRepository 에는 쓰지 않는다.)
+ *
+ *   ./gradlew jmh -PjmhArgs='ReadOnlyLoadBenchmark -prof gc'
+ * gc.alloc.rate.norm 으로 호출 1번당 할당량(스냅샷 비용)을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyLoadBenchmark {
+
+    @Param({"1000", "5000"})
+    int orders;
+
+    @Param({"3"})
+    int itemsPerOrder;
+
+    @Param({"read-write", "read-only-tx", "read-only-hint"})
+    String mode;
+
+    BenchmarkApplication application;
+    TransactionTemplate transactionTemplate;
+    EntityManager em;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        application.seedOrders(orders, itemsPerOrder);
+
+        transactionTemplate = application.transactionTemplate("read-only-tx".equals(mode));
+        em = application.getBean(EntityManager.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int loadOrders() {
+        return transactionTemplate.execute(status -> {
+            TypedQuery<Order> query = em.createQuery(
+                    "select distinct o from Order o " +
+                            "join fetch o.member m " +
+                            "join fetch o.delivery d " +
+                            "join fetch o.orderItems oi " +
+                            "join fetch oi.item i", Order.class);
+            if ("read-only-hint".equals(mode)) {
+                query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            }
+            List<Order> result = query.getResultList();
+            return result.size();
+        });
+    }
+}
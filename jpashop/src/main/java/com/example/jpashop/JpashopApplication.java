@@ -1,5 +1,6 @@
 package com.example.jpashop;
 
+import com.example.jpashop.api.json.OrderJsonModule;
 import com.fasterxml.jackson.datatype.hibernate5.jakarta.Hibernate5JakartaModule;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -18,4 +19,12 @@ public class JpashopApplication {
 //		hibernate5JakartaModule.configure(Hibernate5JakartaModule.Feature.FORCE_LAZY_LOADING, true);
 		return hibernate5JakartaModule;
 	}
+
+	/**
+	 * 주문 조회 API DTO 는 bean 직렬화 대신 JsonGenerator 로 직접 쓴다.
+	 */
+	@Bean
+	OrderJsonModule orderJsonModule() {
+		return new OrderJsonModule();
+	}
 }
@@ -0,0 +1,51 @@
+package com.example.jpashop.api;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 2차 캐시 region 별 hit / miss 통계
+ * hibernate.generate_statistics 가 꺼져 있으면 모두 0 이다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsApiController {
+
+    private final EntityManagerFactory emf;
+
+    @GetMapping("/api/cache/stats")
+    public List<CacheRegionStatsDto> cacheStats() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> new CacheRegionStatsDto(region, statistics.getDomainDataRegionStatistics(region)))
+                .collect(Collectors.toList());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CacheRegionStatsDto {
+        private String region;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private long elementCountInMemory;
+
+        CacheRegionStatsDto(String region, CacheRegionStatistics statistics) {
+            this(region, statistics.getHitCount(), statistics.getMissCount(),
+                    statistics.getPutCount(), statistics.getElementCountInMemory());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.jpashop.api;
+
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.metrics.QueryBudget;
+import com.example.jpashop.service.CategoryService;
+import com.example.jpashop.service.CategoryTree;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+public class CategoryApiController {
+
+    private final CategoryService categoryService;
+
+    /**
+     * 카테고리 트리, 메모리 스냅샷에서 바로 응답 (변경이 없으면 쿼리 없음)
+     */
+    @GetMapping("/api/categories")
+    public List<CategoryTree.Node> categories() {
+        return categoryService.tree().getRoots();
+    }
+
+    /**
+     * 하위 카테고리까지 포함한 상품 목록, 깊이와 상관없이 쿼리 1번
+     */
+    @GetMapping("/api/categories/{categoryId}/items")
+    @QueryBudget(statements = 1)
+    public List<CategoryItemDto> subtreeItems(@PathVariable("categoryId") Long categoryId) {
+        return categoryService.findItemsInSubtree(categoryId).stream()
+                .map(CategoryItemDto::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 존재하지 않는 parentId 는 400
+     */
+    @PostMapping("/api/categories")
+    public CreateCategoryResponse saveCategory(@RequestBody @Valid CreateCategoryRequest request) {
+        try {
+            Long id = categoryService.saveCategory(request.getName(), request.getParentId());
+            return new CreateCategoryResponse(id);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @Data
+    static class CategoryItemDto {
+        private Long id;
+        private String name;
+        private int price;
+
+        CategoryItemDto(Item item) {
+            id = item.getId();
+            name = item.getName();
+            price = item.getPrice();
+        }
+    }
+
+    @Data
+    static class CreateCategoryRequest {
+        @NotEmpty
+        private String name;
+        private Long parentId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateCategoryResponse {
+        private Long id;
+    }
+}
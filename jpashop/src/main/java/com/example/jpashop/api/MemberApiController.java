@@ -2,6 +2,7 @@ package com.example.jpashop.api;
 
 import com.example.jpashop.domain.Member;
 import com.example.jpashop.service.MemberService;
+import com.example.jpashop.service.OptimisticLockRetry;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 public class MemberApiController {
 
     private final MemberService memberService;
+    private final OptimisticLockRetry optimisticLockRetry;
 
     /**
      * read 로직
@@ -94,7 +96,8 @@ public class MemberApiController {
     ) {
         Member member = new Member();
 
-        memberService.update(memberId, request.getName());
+        // 회원 이름 변경과 동시에 다른 요청이 같은 회원을 수정하면 version 이 충돌하므로 재시도
+        optimisticLockRetry.run("updateMember id=" + memberId, () -> memberService.update(memberId, request.getName()));
         Member findMember = memberService.findOne(memberId);
         return new UpdateMemberResponse(findMember.getId(), findMember.getName());
     }
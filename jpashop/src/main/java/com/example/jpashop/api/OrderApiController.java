@@ -2,57 +2,82 @@ package com.example.jpashop.api;
 
 import com.example.jpashop.domain.Address;
 import com.example.jpashop.domain.Order;
-import com.example.jpashop.domain.OrderItem;
 import com.example.jpashop.domain.OrderStatus;
-import com.example.jpashop.repository.OrderRepository;
-import com.example.jpashop.repository.OrderSearch;
+import com.example.jpashop.domain.OrderSummary;
+import com.example.jpashop.metrics.QueryBudget;
+import com.example.jpashop.repository.OrderCursor;
+import com.example.jpashop.repository.order.OrderVersionProbe;
+import com.example.jpashop.repository.order.query.OrderFlatAssembler;
 import com.example.jpashop.repository.order.query.OrderFlatDto;
-import com.example.jpashop.repository.order.query.OrderItemQueryDto;
 import com.example.jpashop.repository.order.query.OrderQueryDto;
 import com.example.jpashop.repository.order.query.OrderQueryRepository;
+import com.example.jpashop.repository.order.summary.OrderSummaryRepository;
+import com.example.jpashop.service.CancelTicket;
+import com.example.jpashop.service.OrderCancelQueue;
+import com.example.jpashop.service.OrderFacade;
+import com.example.jpashop.service.OrderRequest;
+import com.example.jpashop.service.query.OrderDto;
 import com.example.jpashop.service.query.OrderQueryService;
-import lombok.Getter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-
 @RestController
 @RequiredArgsConstructor
 public class OrderApiController {
 
-//    private final OrderQueryService orderQueryService;
-    private final OrderRepository orderRepository;
+    // 페이지 조회 1번의 최대 주문 수
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final OrderFacade orderFacade;
+    private final OrderCancelQueue orderCancelQueue;
+    private final OrderQueryService orderQueryService;
     private final OrderQueryRepository orderQueryRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderVersionProbe orderVersionProbe;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/api/v1/orders")
     public List<Order> ordersV1() {
-        List<Order> all = orderRepository.findAll(new OrderSearch());
-
-        for (Order order : all) {
-            order.getMember().getName();
-            order.getDelivery().getAddress();
-            List<OrderItem> orderItems = order.getOrderItems();
-            orderItems.stream().forEach(orderItem -> orderItem.getItem().getName());
-        }
-
-        return all;
+        // 지연 로딩 초기화는 트랜잭션 안에서 (OSIV 를 꺼도 동작)
+        return orderQueryService.ordersV1();
     }
 
+    /**
+     * 조건부 GET, If-None-Match 가 현재 ETag 와 같으면 SQL 없이 304 (N + 1 조회 / 직렬화 생략)
+     */
     @GetMapping("/api/v2/orders")
-    public List<OrderDto> ordersV2() {
-        List<Order> orders = orderRepository.findAll(new OrderSearch());
-
-        return orders.stream()
-                .map(order -> new OrderDto(order))
-                .collect(Collectors.toList());
+    public List<OrderDto> ordersV2(WebRequest request) {
+        if (request.checkNotModified(orderVersionProbe.ordersWithItemsEtag())) {
+            return null;
+        }
+        return orderQueryService.ordersV2();
     }
 
     /**
@@ -63,15 +88,9 @@ public class OrderApiController {
      * ! WARN 경고 발생 !
      */
     @GetMapping("/api/v3/orders")
+    @QueryBudget(statements = 1)
     public List<OrderDto> ordersV3() {
-        List<Order> orders = orderRepository.findAllWithItem();
-
-        List<OrderDto> result = orders.stream()
-                .map(order -> new OrderDto(order))
-                .collect(Collectors.toList());
-
-        return result;
-//        return orderQueryService.orderV3();
+        return orderQueryService.orderV3();
     }
 
     /**
@@ -86,17 +105,52 @@ public class OrderApiController {
      * 즉, 데이터 전송량 vs 네트워크 연결량간의 trade off 를 생각해야한다.
      */
     @GetMapping("/api/v3.1/orders")
+    @QueryBudget(statements = 3)
     public List<OrderDto> ordersV3_page(
             @RequestParam(value = "offset", defaultValue = "0") int offset,
             @RequestParam(value = "limit", defaultValue = "100") int limit
     ) {
-        List<Order> orders = orderRepository.findAllWithMemberDelivery(offset, limit);
+        return orderQueryService.ordersV3_page(offset, limit);
+    }
 
-        List<OrderDto> result = orders.stream()
-                .map(order -> new OrderDto(order))
-                .collect(Collectors.toList());
+    /**
+     * 컬렉션 페이징을 keyset(seek) 방식으로 처리
+     * V3.1 과 같은 쿼리 구성이지만 offset 대신 이전 페이지 마지막 주문의 (orderDate, id) 를 기준으로 조회한다.
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 넘기면 되고, 마지막 페이지이면 nextCursor 는 null 이다.
+     * limit 이 1 ~ 1000 이 아니거나 cursor 가 잘못되면 400
+     */
+    @GetMapping("/api/v3.2/orders")
+    @QueryBudget(statements = 3)
+    public CursorResult<List<OrderDto>> ordersV3_cursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit
+    ) {
+        OrderCursor orderCursor = decodeCursor(cursor);
+
+        // 다음 페이지 존재 여부를 알기 위해 1개 더 조회
+        List<OrderDto> result = orderQueryService.ordersV3_cursor(orderCursor, limit + 1);
+        boolean hasNext = result.size() > limit;
+        if (hasNext) {
+            result = result.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderDto last = result.get(result.size() - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getOrderId()).encode();
+        }
+        return new CursorResult<>(result, nextCursor);
+    }
 
-        return result;
+    private OrderCursor decodeCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return OrderCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 
     @GetMapping("/api/v4/orders")
@@ -105,6 +159,7 @@ public class OrderApiController {
     }
 
     @GetMapping("/api/v5/orders")
+    @QueryBudget(statements = 2)
     public List<OrderQueryDto> ordersV5() {
         return orderQueryRepository.findAllByDto_optimization();
     }
@@ -116,49 +171,153 @@ public class OrderApiController {
      * 쿼리는 한번이지만 조인으로 인해 DB 에서 애플리케이션에 전달하는 데이터에 중복 데이터가 추가되므로 상황에 따라 V5 보다 더 느릴 수 도 있다.
      */
     @GetMapping("/api/v6/orders")
+    @QueryBudget(statements = 1)
     public List<OrderQueryDto> ordersV6() {
         List<OrderFlatDto> flats = orderQueryRepository.findAllByDto_flat();
-        return flats.stream()
-                .collect(groupingBy(o -> new OrderQueryDto(o.getOrderId(), o.getName(), o.getOrderDate(), o.getOrderStatus(), o.getAddress()),
-                        mapping(o -> new OrderItemQueryDto(o.getOrderId(), o.getItemName(), o.getOrderPrice(), o.getCount()), Collectors.toList())
-                )).entrySet().stream()
-                .map(e -> new OrderQueryDto(e.getKey().getOrderId(), e.getKey().getName(), e.getKey().getOrderDate(), e.getKey().getOrderStatus(), e.getKey().getAddress(), e.getValue()))
+        return OrderFlatAssembler.assemble(flats);
+    }
+
+    /**
+     * 비정규화된 order_summary 테이블만 조회 (조인 없이 PK 인덱스 역순 scan 1번)
+     * 주문 / 주문상품 / 회원 / 배송 변경 시 같은 트랜잭션에서 갱신되므로 커밋된 원본과 항상 같다.
+     * 주문상품 목록이 필요 없는 목록 화면용이고, cursor 는 이전 페이지 마지막 주문 id 이다.
+     * limit 이 1 ~ 1000 이 아니면 400
+     */
+    @GetMapping("/api/v7/orders")
+    @QueryBudget(statements = 1)
+    public CursorResult<List<OrderSummaryDto>> ordersV7(
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit
+    ) {
+        List<OrderSummary> summaries = orderSummaryRepository.findPage(cursor, limit + 1);
+        boolean hasNext = summaries.size() > limit;
+        if (hasNext) {
+            summaries = summaries.subList(0, limit);
+        }
+        String nextCursor = hasNext ? String.valueOf(summaries.get(summaries.size() - 1).getOrderId()) : null;
+
+        List<OrderSummaryDto> result = summaries.stream()
+                .map(OrderSummaryDto::new)
                 .collect(Collectors.toList());
+        return new CursorResult<>(result, nextCursor);
+    }
+
+    /**
+     * 주문 전체를 chunk 단위로 응답에 바로 써서 내려준다.
+     * V3 처럼 전체 결과를 List 로 만들지 않으므로 주문 수와 상관없이 메모리 사용량이 일정하다.
+     * format=ndjson 이면 한 줄에 주문 하나, json 이면 JSON 배열로 내려준다.
+     * chunkSize 가 1 보다 작으면 400
+     */
+    @GetMapping("/api/orders/stream")
+    public ResponseEntity<StreamingResponseBody> ordersStream(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "chunkSize", defaultValue = "100") @Min(1) int chunkSize
+    ) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        ObjectWriter writer = objectMapper.writer();
+
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter sequenceWriter = ndjson
+                    ? writer.withRootValueSeparator("\n").writeValues(out)
+                    : writer.writeValuesAsArray(out)) {
+                orderQueryService.exportOrders(chunkSize, chunk -> {
+                    try {
+                        sequenceWriter.writeAll(chunk);
+                        sequenceWriter.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * 대량 주문
+     * 회원 / 상품 조회는 chunk 당 1번씩이고 주문 / 주문상품 / 배송 insert 는 JDBC batch 로 저장된다.
+     */
+    @PostMapping("/api/orders/bulk")
+    public CreateOrdersResponse placeOrders(@RequestBody @Valid CreateOrdersRequest request) {
+        List<Long> orderIds = orderFacade.placeOrders(request.getOrders());
+        return new CreateOrdersResponse(orderIds.size(), orderIds);
     }
 
-    @Getter
-    static class OrderDto {
+    /**
+     * 비동기 주문 취소 요청, 202 Accepted 와 함께 처리 상태를 조회할 ticket 을 반환한다.
+     * 재고는 OrderCancelQueue 가 flush-interval 마다 여러 취소 건을 상품별로 모아서 복구한다.
+     */
+    @PostMapping("/api/orders/{orderId}/cancel")
+    public ResponseEntity<CancelTicketResponse> cancelOrder(@PathVariable("orderId") Long orderId) {
+        CancelTicket ticket = orderCancelQueue.submit(orderId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/cancellations/" + ticket.getTicketId()))
+                .body(new CancelTicketResponse(ticket));
+    }
+
+    @GetMapping("/api/orders/cancellations/{ticketId}")
+    public ResponseEntity<CancelTicketResponse> cancellation(@PathVariable("ticketId") String ticketId) {
+        return orderCancelQueue.find(ticketId)
+                .map(ticket -> ResponseEntity.ok(new CancelTicketResponse(ticket)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Data
+    static class CancelTicketResponse {
+        private String ticketId;
+        private Long orderId;
+        private CancelTicket.CancelStatus status;
+        private String message;
 
+        CancelTicketResponse(CancelTicket ticket) {
+            ticketId = ticket.getTicketId();
+            orderId = ticket.getOrderId();
+            status = ticket.getStatus();
+            message = ticket.getMessage();
+        }
+    }
+
+    @Data
+    static class OrderSummaryDto {
         private Long orderId;
         private String name;
         private LocalDateTime orderDate;
         private OrderStatus orderStatus;
         private Address address;
-        private List<OrderItemDto> orderItems;
-
-        public OrderDto(Order order) {
-            orderId = order.getId();
-            name = order.getMember().getName();
-            orderDate = order.getOrderDate();
-            orderStatus = order.getStatus();
-            address = order.getDelivery().getAddress();
-            orderItems = order.getOrderItems().stream()
-                    .map(orderItem -> new OrderItemDto(orderItem))
-                    .collect(Collectors.toList());
+        private int totalPrice;
+        private int itemCount;
+
+        OrderSummaryDto(OrderSummary summary) {
+            orderId = summary.getOrderId();
+            name = summary.getMemberName();
+            orderDate = summary.getOrderDate();
+            orderStatus = summary.getStatus();
+            address = summary.getAddress();
+            totalPrice = summary.getTotalPrice();
+            itemCount = summary.getItemCount();
         }
     }
 
-    @Getter
-    static class OrderItemDto {
+    @Data
+    static class CreateOrdersRequest {
+        @NotEmpty
+        private List<@Valid OrderRequest> orders;
+    }
 
-        private String itemName;
-        private int orderPrice;
+    @Data
+    @AllArgsConstructor
+    static class CreateOrdersResponse {
         private int count;
+        private List<Long> orderIds;
+    }
 
-        public OrderItemDto(OrderItem orderItem) {
-            this.itemName = orderItem.getItem().getName();
-            this.orderPrice = orderItem.getOrderPrice();
-            this.count = orderItem.getCount();
-        }
+    @Data
+    @AllArgsConstructor
+    static class CursorResult<T> {
+        private T data;
+        private String nextCursor;
     }
 }
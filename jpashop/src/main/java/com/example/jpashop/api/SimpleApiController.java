@@ -1,17 +1,17 @@
 package com.example.jpashop.api;
 
-import com.example.jpashop.domain.Address;
 import com.example.jpashop.domain.Order;
-import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.metrics.QueryBudget;
 import com.example.jpashop.repository.OrderRepository;
-import com.example.jpashop.repository.OrderSearch;
+import com.example.jpashop.repository.order.OrderVersionProbe;
 import com.example.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
-import lombok.Data;
+import com.example.jpashop.service.query.OrderQueryService;
+import com.example.jpashop.service.query.SimpleOrderDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +26,8 @@ import java.util.stream.Collectors;
 public class SimpleApiController {
 
     private final OrderRepository orderRepository;
+    private final OrderQueryService orderQueryService;
+    private final OrderVersionProbe orderVersionProbe;
 
     /**
      * V1. 엔티티 직접 노출
@@ -34,26 +36,19 @@ public class SimpleApiController {
      */
     @GetMapping("/api/v1/simple-orders")
     public List<Order> ordersV1() {
-        List<Order> all = orderRepository.findAll(new OrderSearch());
-        for (Order order : all) {
-            order.getMember().getName(); // Lazy 강제 초기화
-            order.getDelivery().getAddress(); // Lazy 강제 초기화
-        }
-        return all;
+        // Lazy 강제 초기화는 트랜잭션 안에서 (직렬화 시 orderItems 까지 접근하므로 V1 주문 API 와 동일)
+        return orderQueryService.ordersV1();
     }
 
     @GetMapping("/api/v2/simple-orders")
     public List<SimpleOrderDto> ordersV2() {
         // ORDER 2개
         // N + 1 -> 1 + 회원 N + 배송 N + 주문 아이템 N
-        List<Order> orders = orderRepository.findAll(new OrderSearch());
-
-        return orders.stream()
-                .map(SimpleOrderDto::new)
-                .collect(Collectors.toList());
+        return orderQueryService.simpleOrdersV2();
     }
 
     @GetMapping("/api/v3/simple-orders")
+    @QueryBudget(statements = 1)
     public List<SimpleOrderDto> ordersV3() {
         // Fetch join 을 통해 1개의 쿼리로 가능하다.
         List<Order> orders = orderRepository.findAllWithMemberDelivery();
@@ -63,25 +58,15 @@ public class SimpleApiController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 조건부 GET, If-None-Match 가 현재 ETag 와 같으면 SQL 없이 304 (조회 / 직렬화 생략)
+     */
     @GetMapping("/api/v4/simple-orders")
-    public List<OrderSimpleQueryDto> ordersV4() {
-        return orderRepository.findOrderDtos();
-    }
-
-    @Data
-    static class SimpleOrderDto {
-        private Long orderId;
-        private String name;
-        private LocalDateTime orderDate;
-        private OrderStatus orderStatus;
-        private Address address;
-
-        public SimpleOrderDto(Order order) {
-            orderId = order.getId();
-            name = order.getMember().getName(); // LAZY 초기화
-            orderDate = order.getOrderDate();
-            orderStatus = order.getStatus();
-            address = order.getDelivery().getAddress(); // LAZY 초기화
+    @QueryBudget(statements = 1)
+    public List<OrderSimpleQueryDto> ordersV4(WebRequest request) {
+        if (request.checkNotModified(orderVersionProbe.simpleOrdersEtag())) {
+            return null;
         }
+        return orderRepository.findOrderDtos();
     }
 }
@@ -0,0 +1,235 @@
+package com.example.jpashop.api.json;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.repository.order.query.OrderItemQueryDto;
+import com.example.jpashop.repository.order.query.OrderQueryDto;
+import com.example.jpashop.service.query.OrderDto;
+import com.example.jpashop.service.query.OrderItemDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 주문 조회 API DTO 전용 직렬화 (V2 ~ V6, /api/orders/stream)
+ *
+ * 기본 bean 직렬화는 객체마다 getter 를 리플렉션(또는 생성된 accessor)으로 호출하고 필드 이름을 매번 쓴다.
+ * 여기서는 JsonGenerator 로 필드를 직접 쓰고, 필드 이름은 미리 인코딩해 둔 SerializedString 을 쓴다.
+ * 주문 시각은 DateTimeFormatter 를 거치지 않고 char[] 에 숫자를 직접 쓴다. (직렬화 할당량의 대부분이 날짜 포맷이었다.)
+ * 출력은 기본 직렬화와 글자 하나까지 같아야 한다. (필드 순서, null, LocalDateTime 은 JavaTimeModule 의 ISO 형식)
+ * DTO 에 필드를 추가하면 여기에도 추가해야 하고, OrderJsonModuleTest 가 차이를 잡아낸다.
+ */
+public class OrderJsonModule extends SimpleModule {
+
+    private static final SerializableString ORDER_ID = new SerializedString("orderId");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString ORDER_DATE = new SerializedString("orderDate");
+    private static final SerializableString ORDER_STATUS = new SerializedString("orderStatus");
+    private static final SerializableString ADDRESS = new SerializedString("address");
+    private static final SerializableString TOTAL_PRICE = new SerializedString("totalPrice");
+    private static final SerializableString ORDER_ITEMS = new SerializedString("orderItems");
+    private static final SerializableString ITEM_NAME = new SerializedString("itemName");
+    private static final SerializableString ORDER_PRICE = new SerializedString("orderPrice");
+    private static final SerializableString COUNT = new SerializedString("count");
+    private static final SerializableString CITY = new SerializedString("city");
+    private static final SerializableString STREET = new SerializedString("street");
+    private static final SerializableString ZIPCODE = new SerializedString("zipcode");
+
+    public OrderJsonModule() {
+        super("OrderJsonModule");
+        addSerializer(OrderDto.class, new OrderDtoSerializer());
+        addSerializer(OrderItemDto.class, new OrderItemDtoSerializer());
+        addSerializer(OrderQueryDto.class, new OrderQueryDtoSerializer());
+        addSerializer(OrderItemQueryDto.class, new OrderItemQueryDtoSerializer());
+    }
+
+    static class OrderDtoSerializer extends StdSerializer<OrderDto> {
+
+        OrderDtoSerializer() {
+            super(OrderDto.class);
+        }
+
+        @Override
+        public void serialize(OrderDto order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(order);
+            writeOrder(gen, order.getOrderId(), order.getName(), order.getOrderDate(), order.getOrderStatus(),
+                    order.getAddress(), order.getTotalPrice());
+            gen.writeFieldName(ORDER_ITEMS);
+            List<OrderItemDto> orderItems = order.getOrderItems();
+            if (orderItems == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(orderItems, orderItems.size());
+                for (OrderItemDto orderItem : orderItems) {
+                    writeOrderItem(gen, orderItem.getItemName(), orderItem.getOrderPrice(), orderItem.getCount());
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static class OrderItemDtoSerializer extends StdSerializer<OrderItemDto> {
+
+        OrderItemDtoSerializer() {
+            super(OrderItemDto.class);
+        }
+
+        @Override
+        public void serialize(OrderItemDto orderItem, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeOrderItem(gen, orderItem.getItemName(), orderItem.getOrderPrice(), orderItem.getCount());
+        }
+    }
+
+    static class OrderQueryDtoSerializer extends StdSerializer<OrderQueryDto> {
+
+        OrderQueryDtoSerializer() {
+            super(OrderQueryDto.class);
+        }
+
+        @Override
+        public void serialize(OrderQueryDto order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(order);
+            writeOrder(gen, order.getOrderId(), order.getName(), order.getOrderDate(), order.getOrderStatus(),
+                    order.getAddress(), order.getTotalPrice());
+            gen.writeFieldName(ORDER_ITEMS);
+            List<OrderItemQueryDto> orderItems = order.getOrderItems();
+            if (orderItems == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(orderItems, orderItems.size());
+                for (OrderItemQueryDto orderItem : orderItems) {
+                    writeOrderItem(gen, orderItem.getItemName(), orderItem.getOrderPrice(), orderItem.getCount());
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * orderId 는 @JsonIgnore
+     */
+    static class OrderItemQueryDtoSerializer extends StdSerializer<OrderItemQueryDto> {
+
+        OrderItemQueryDtoSerializer() {
+            super(OrderItemQueryDto.class);
+        }
+
+        @Override
+        public void serialize(OrderItemQueryDto orderItem, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeOrderItem(gen, orderItem.getItemName(), orderItem.getOrderPrice(), orderItem.getCount());
+        }
+    }
+
+    /**
+     * OrderDto, OrderQueryDto 공통 필드 (orderItems 앞까지)
+     */
+    private static void writeOrder(JsonGenerator gen, Long orderId, String name, LocalDateTime orderDate,
+                                   OrderStatus orderStatus, Address address, int totalPrice) throws IOException {
+        gen.writeFieldName(ORDER_ID);
+        if (orderId == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(orderId);
+        }
+        gen.writeFieldName(NAME);
+        gen.writeString(name);
+        gen.writeFieldName(ORDER_DATE);
+        if (orderDate == null) {
+            gen.writeNull();
+        } else {
+            writeDateTime(gen, orderDate);
+        }
+        gen.writeFieldName(ORDER_STATUS);
+        if (orderStatus == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(orderStatus.name());
+        }
+        gen.writeFieldName(ADDRESS);
+        writeAddress(gen, address);
+        gen.writeFieldName(TOTAL_PRICE);
+        gen.writeNumber(totalPrice);
+    }
+
+    private static void writeOrderItem(JsonGenerator gen, String itemName, int orderPrice, int count) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(ITEM_NAME);
+        gen.writeString(itemName);
+        gen.writeFieldName(ORDER_PRICE);
+        gen.writeNumber(orderPrice);
+        gen.writeFieldName(COUNT);
+        gen.writeNumber(count);
+        gen.writeEndObject();
+    }
+
+    private static void writeAddress(JsonGenerator gen, Address address) throws IOException {
+        if (address == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(CITY);
+        gen.writeString(address.getCity());
+        gen.writeFieldName(STREET);
+        gen.writeString(address.getStreet());
+        gen.writeFieldName(ZIPCODE);
+        gen.writeString(address.getZipcode());
+        gen.writeEndObject();
+    }
+
+    /**
+     * DateTimeFormatter.ISO_LOCAL_DATE_TIME 과 같은 형식 (yyyy-MM-ddTHH:mm:ss, 나노초는 뒤쪽 0 을 뺀 자리까지)
+     * 0 ~ 9999 년이 아니면 부호 / 자리수 규칙이 달라지므로 DateTimeFormatter 로 쓴다.
+     */
+    static void writeDateTime(JsonGenerator gen, LocalDateTime dateTime) throws IOException {
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+            return;
+        }
+
+        char[] buffer = new char[29];
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, dateTime.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, dateTime.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, dateTime.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, dateTime.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, dateTime.getSecond(), 2);
+        int length = 19;
+
+        int nano = dateTime.getNano();
+        if (nano != 0) {
+            buffer[length++] = '.';
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            writeDigits(buffer, length, nano, digits);
+            length += digits;
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.jpashop.config;
+
+import com.example.jpashop.repository.order.OrderVersionProbe;
+import com.example.jpashop.repository.order.summary.OrderSummaryListener;
+import com.example.jpashop.repository.support.MemberNameIndexListener;
+import com.example.jpashop.service.CategoryTreeListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 엔티티 변경을 받는 리스너를 Hibernate 이벤트 리스너(post insert / update / delete, 커밋 후 이벤트)로 등록한다.
+ * 엔티티가 @EntityListeners 로 repository / service 의 클래스를 참조하지 않도록 설정에서 등록한다.
+ */
+@Configuration
+public class EntityListenerConfig {
+
+    @Bean
+    Integrator entityListenerIntegrator(OrderSummaryListener orderSummaryListener,
+                                        MemberNameIndexListener memberNameIndexListener,
+                                        CategoryTreeListener categoryTreeListener,
+                                        OrderVersionProbe orderVersionProbe) {
+        return new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+                EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+                append(registry, orderSummaryListener);
+                append(registry, memberNameIndexListener);
+                append(registry, categoryTreeListener);
+                registry.appendListeners(EventType.POST_COMMIT_INSERT, orderVersionProbe);
+                registry.appendListeners(EventType.POST_COMMIT_UPDATE, orderVersionProbe);
+                registry.appendListeners(EventType.POST_COMMIT_DELETE, orderVersionProbe);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+    }
+
+    private static <T extends PostInsertEventListener & PostUpdateEventListener & PostDeleteEventListener> void append(
+            EventListenerRegistry registry, T listener) {
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+}
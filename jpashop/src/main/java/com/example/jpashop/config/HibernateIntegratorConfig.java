@@ -0,0 +1,27 @@
+package com.example.jpashop.config;
+
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Integrator 빈을 모두 hibernate.integrator_provider 로 등록한다.
+ * 설정 키가 하나뿐이라 설정마다 따로 넣으면 나중에 넣은 값만 남으므로 여기서 한번에 등록한다.
+ */
+@Configuration
+public class HibernateIntegratorConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer integratorCustomizer(ObjectProvider<Integrator> integrators) {
+        return hibernateProperties -> {
+            List<Integrator> all = integrators.orderedStream().toList();
+            hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> all);
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.jpashop.config;
+
+import com.example.jpashop.repository.support.ChunkedInLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryLoaderConfig {
+
+    @Value("${jpashop.query.in-batch-size:500}")
+    private int batchSize;
+
+    @Value("${jpashop.query.in-parallelism:1}")
+    private int parallelism;
+
+    /**
+     * in-parallelism 이 1 보다 크면 ChunkedInLoader 가 자체 스레드 풀로 chunk 를 동시에 실행한다.
+     */
+    @Bean
+    ChunkedInLoader chunkedInLoader() {
+        return new ChunkedInLoader(batchSize, parallelism);
+    }
+}
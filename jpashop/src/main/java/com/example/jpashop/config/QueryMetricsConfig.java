@@ -0,0 +1,46 @@
+package com.example.jpashop.config;
+
+import com.example.jpashop.metrics.QueryMetricsFilter;
+import com.example.jpashop.metrics.QueryMetricsIntegrator;
+import com.example.jpashop.metrics.QueryMetricsSessionListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 요청별 SQL 집계 (com.example.jpashop.metrics)
+ * jpashop.query-metrics.enabled=false 이면 등록하지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jpashop.query-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+    @Value("${jpashop.query-metrics.fail-on-budget-exceeded:false}")
+    private boolean failOnBudgetExceeded;
+
+    @Bean
+    HibernatePropertiesCustomizer queryMetricsHibernateCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryMetricsSessionListener.class.getName());
+    }
+
+    /**
+     * HibernateIntegratorConfig 가 hibernate.integrator_provider 로 등록한다.
+     */
+    @Bean
+    QueryMetricsIntegrator queryMetricsIntegrator() {
+        return new QueryMetricsIntegrator();
+    }
+
+    @Bean
+    FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryMetricsFilter> registration =
+                new FilterRegistrationBean<>(new QueryMetricsFilter(meterRegistry, failOnBudgetExceeded));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
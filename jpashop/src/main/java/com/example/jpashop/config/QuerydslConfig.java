@@ -0,0 +1,18 @@
+package com.example.jpashop.config;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QuerydslConfig {
+
+    /**
+     * EntityManager 는 트랜잭션별 EntityManager 로 위임하는 프록시이므로 factory 하나를 공유해도 된다.
+     */
+    @Bean
+    JPAQueryFactory jpaQueryFactory(EntityManager em) {
+        return new JPAQueryFactory(em);
+    }
+}
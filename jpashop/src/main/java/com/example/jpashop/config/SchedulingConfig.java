@@ -0,0 +1,12 @@
+package com.example.jpashop.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 (재고 장부 flush 등) 활성화
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,57 @@
+package com.example.jpashop.config;
+
+import com.example.jpashop.domain.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate 2차 캐시 설정
+ * JCache 구현체로 로컬 캐시(Caffeine)를 사용하고, region 별 TTL / 최대 개수는 application.yml 의 jpashop.cache 로 지정한다.
+ * 다른 JCache 구현체로 바꾸려면 jpaCacheManager 만 교체하면 된다.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    /**
+     * 애플리케이션 컨텍스트마다 별도의 CacheManager 를 사용하도록 provider 를 직접 생성한다.
+     */
+    @Bean(destroyMethod = "close")
+    CacheManager jpaCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), provider.getDefaultClassLoader());
+
+        for (String region : CacheRegions.all()) {
+            SecondLevelCacheProperties.Region config = properties.getRegions()
+                    .getOrDefault(region, properties.getDefaults());
+            cacheManager.createCache(region, toConfiguration(config));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jpaCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, jpaCacheManager);
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> toConfiguration(SecondLevelCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        return configuration;
+    }
+}
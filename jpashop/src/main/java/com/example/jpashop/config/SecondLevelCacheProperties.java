@@ -0,0 +1,27 @@
+package com.example.jpashop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 2차 캐시 region 별 설정 (jpashop.cache)
+ * regions 에 없는 region 은 default 설정으로 생성한다.
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.cache")
+public class SecondLevelCacheProperties {
+
+    private Region defaults = new Region();
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter @Setter
+    public static class Region {
+        private Duration ttl = Duration.ofMinutes(10);
+        private long maxSize = 10_000;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.jpashop.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 / 쓰기 DataSource 분리 (jpashop.datasource.routing.enabled=true)
+ * primary 는 spring.datasource, replica 는 jpashop.datasource.routing.replicas 로 지정한다.
+ * 복제는 DB 에서 설정해야 하며 애플리케이션은 커넥션만 나눈다.
+ *
+ * OSIV 를 켜면 요청 하나가 세션(커넥션) 하나를 쓰는데, Spring 기본값(DELAYED_ACQUISITION_AND_HOLD)은
+ * 요청이 끝날 때까지 커넥션을 잡고 있어서 첫 트랜잭션이 고른 DB 를 이후 쓰기 / 지연 로딩도 그대로 사용하게 된다.
+ * 그래서 트랜잭션이 끝날 때마다 커넥션을 반납하도록 바꾸고, 다음 트랜잭션(또는 지연 로딩)이 DB 를 다시 고르게 한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jpashop.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    /**
+     * LazyConnectionDataSourceProxy 는 routingDataSourcePostProcessor 가 가장 바깥에 씌운다.
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(DataSourceProperties dataSourceProperties, DataSourceRoutingProperties properties,
+                          Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        // 기본 DataSource 자동 설정처럼 spring.datasource.hikari.* 를 primary pool 에 적용
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        pools.add(primary);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setPoolName("replica-" + replicas.size());
+            replicas.add(dataSource);
+            pools.add(dataSource);
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                primary, replicas, properties.getSelection(), properties.getReadYourWritesWindow());
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    /**
+     * 트랜잭션이 끝나면 커넥션 반납 (OSIV 에서도 트랜잭션마다 primary / replica 를 다시 고른다.)
+     */
+    @Bean
+    HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * p6spy 데코레이터는 커넥션을 얻자마자 getMetaData() 를 호출하므로 LazyConnectionDataSourceProxy 안쪽에 있으면
+     * readOnly 설정 전에 DataSource 가 정해진다. 데코레이터(LOWEST_PRECEDENCE - 20) 다음에 감싼다.
+     */
+    @Bean
+    static BeanPostProcessor routingDataSourcePostProcessor() {
+        return new LazyConnectionPostProcessor();
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(DataSourceRoutingProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.getCookieName(), properties.getReadYourWritesWindow()));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    @PreDestroy
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    static class LazyConnectionPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                return new LazyConnectionDataSourceProxy(dataSource);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.jpashop.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 / 쓰기 DataSource 분리 설정 (jpashop.datasource.routing)
+ * primary 는 spring.datasource 를 그대로 사용한다.
+ */
+@Data
+@ConfigurationProperties("jpashop.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * replica 선택 방식
+     */
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+
+    /**
+     * 마지막 쓰기 후 이 시간 동안은 읽기도 primary 로 보낸다. (replica 복제 지연 대비)
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * 마지막 쓰기 시각을 담는 쿠키 이름
+     */
+    private String cookieName = "jpashop-last-write";
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+    public enum ReplicaSelection {
+        ROUND_ROBIN,
+        /**
+         * 사용 중인 커넥션이 가장 적은 replica
+         */
+        LEAST_BUSY
+    }
+}
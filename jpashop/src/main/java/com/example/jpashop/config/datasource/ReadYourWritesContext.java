@@ -0,0 +1,67 @@
+package com.example.jpashop.config.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.time.Duration;
+
+/**
+ * 요청 단위의 마지막 쓰기 시각
+ * ReadYourWritesFilter 가 요청 시작 시 쿠키 값으로 채우고, 쓰기 트랜잭션이 커넥션을 얻으면 갱신한다.
+ * 요청 밖(스케줄러, 초기 데이터 등)에서는 추적하지 않는다.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    static void begin(long lastWriteMillis, HttpServletResponse response, String cookieName, Duration window) {
+        State state = new State();
+        state.lastWriteMillis = lastWriteMillis;
+        state.response = response;
+        state.cookieName = cookieName;
+        state.window = window;
+        CURRENT.set(state);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 쓰기 발생, 응답이 아직 나가지 않았으면 쿠키로 클라이언트에 전달한다.
+     */
+    public static void markWrite() {
+        State state = CURRENT.get();
+        if (state == null) {
+            return;
+        }
+        state.lastWriteMillis = System.currentTimeMillis();
+
+        HttpServletResponse response = state.response;
+        if (response != null && !response.isCommitted() && !state.cookieSent) {
+            Cookie cookie = new Cookie(state.cookieName, String.valueOf(state.lastWriteMillis));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(state.window.toSeconds(), 1));
+            response.addCookie(cookie);
+            state.cookieSent = true;
+        }
+    }
+
+    public static boolean wroteWithin(Duration window) {
+        State state = CURRENT.get();
+        return state != null && state.lastWriteMillis > 0
+                && System.currentTimeMillis() - state.lastWriteMillis < window.toMillis();
+    }
+
+    private static class State {
+        long lastWriteMillis;
+        HttpServletResponse response;
+        String cookieName;
+        Duration window;
+        boolean cookieSent;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.jpashop.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 쿠키의 마지막 쓰기 시각을 요청 스레드에 연결
+ * 쓰기 직후의 다음 요청(redirect 후 목록 조회 등)이 아직 복제되지 않은 replica 를 읽지 않도록 한다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final String cookieName;
+    private final Duration window;
+
+    public ReadYourWritesFilter(String cookieName, Duration window) {
+        this.cookieName = cookieName;
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadYourWritesContext.begin(lastWrite(request), response, cookieName, window);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    private long lastWrite(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (cookieName.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.jpashop.config.datasource;
+
+import com.example.jpashop.config.datasource.DataSourceRoutingProperties.ReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * readOnly 트랜잭션은 replica, 그 외는 primary 로 보낸다.
+ * 최근에 쓰기를 한 요청(ReadYourWritesContext)은 readOnly 여도 primary 를 사용한다.
+ *
+ * 트랜잭션 매니저는 readOnly 여부를 설정하기 전에 커넥션을 얻으므로
+ * 반드시 LazyConnectionDataSourceProxy 로 감싸서 실제 쿼리 시점에 DataSource 를 고르도록 해야 한다.
+ * 세션이 커넥션을 잡고 있는 동안은 다시 고르지 않으므로 트랜잭션마다 커넥션을 반납해야 한다. (DataSourceRoutingConfig)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<HikariDataSource> replicas;
+    private final ReplicaSelection selection;
+    private final Duration readYourWritesWindow;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    ReplicaSelection selection, Duration readYourWritesWindow) {
+        this.replicas = replicas;
+        this.selection = selection;
+        this.readYourWritesWindow = readYourWritesWindow;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 트랜잭션 밖의 조회(OSIV 지연 로딩 등)
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWritesContext.markWrite();
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || ReadYourWritesContext.wroteWithin(readYourWritesWindow)) {
+            return PRIMARY;
+        }
+        return selection == ReplicaSelection.LEAST_BUSY ? leastBusy() : roundRobin();
+    }
+
+    private int roundRobin() {
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    /**
+     * 사용 중인 커넥션이 가장 적은 replica, 같으면 round robin 순서로 고른다.
+     */
+    private int leastBusy() {
+        int start = roundRobin();
+        int best = start;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            int active = activeConnections(replicas.get(index));
+            if (active < bestActive) {
+                best = index;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private int activeConnections(HikariDataSource dataSource) {
+        // 첫 커넥션 요청 전에는 pool 이 생성되지 않는다.
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+}
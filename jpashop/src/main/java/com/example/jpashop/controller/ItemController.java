@@ -1,16 +1,20 @@
 package com.example.jpashop.controller;
 
 import com.example.jpashop.domain.item.Book;
-import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.repository.ItemSummary;
 import com.example.jpashop.service.ItemService;
+import com.example.jpashop.service.OptimisticLockRetry;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.annotations.Parameter;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -19,6 +23,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final OptimisticLockRetry optimisticLockRetry;
 
     @GetMapping("/items/new")
     public String createForm(Model model) {
@@ -40,12 +45,20 @@ public class ItemController {
     }
 
     @GetMapping("/items")
-    public String itemList(Model model) {
-        List<Item> items = itemService.findItems();
+    public String itemList(@RequestParam(value = "dtype", required = false) String dtype, Model model) {
+        List<ItemSummary> items = findItemSummaries(dtype);
         model.addAttribute("items", items);
         return "items/itemList";
     }
 
+    private List<ItemSummary> findItemSummaries(String dtype) {
+        try {
+            return itemService.findItemSummaries(dtype);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     @GetMapping("/items/{itemID}/edit")
     public String updateItemForm(@PathVariable("itemID") Long itemId, Model model) {
         Book item = (Book) itemService.findOne(itemId);
@@ -72,7 +85,9 @@ public class ItemController {
 //        book.setAuthor(form.getAuthor());
 //        book.setIsbn(form.getIsbn());
 //        itemService.saveItem(book);
-        itemService.updateItem(form.getId(), form.getName(), form.getPrice(), form.getStockQuantity());
+        // 주문의 재고 차감과 동시에 수정하면 Item 의 version 이 충돌하므로 재시도
+        optimisticLockRetry.run("updateItem id=" + form.getId(),
+                () -> itemService.updateItem(form.getId(), form.getName(), form.getPrice(), form.getStockQuantity()));
         return "redirect:/items";
     }
 }
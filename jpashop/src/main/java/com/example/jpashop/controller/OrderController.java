@@ -1,12 +1,14 @@
 package com.example.jpashop.controller;
 
 import com.example.jpashop.domain.Member;
-import com.example.jpashop.domain.Order;
-import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.repository.ItemSummary;
 import com.example.jpashop.repository.OrderSearch;
 import com.example.jpashop.service.ItemService;
 import com.example.jpashop.service.MemberService;
+import com.example.jpashop.service.OrderFacade;
 import com.example.jpashop.service.OrderService;
+import com.example.jpashop.service.query.OrderDto;
+import com.example.jpashop.service.query.OrderQueryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,14 +21,16 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderFacade orderFacade;
     private final MemberService memberService;
     private final ItemService itemService;
+    private final OrderQueryService orderQueryService;
 
     @GetMapping("/order")
     public String createForm(Model model) {
 
         List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
+        List<ItemSummary> items = itemService.findItemSummaries(null);
 
         model.addAttribute("members", members);
         model.addAttribute("items", items);
@@ -40,13 +44,13 @@ public class OrderController {
             @RequestParam("itemId") Long itemId,
             @RequestParam("count") Integer count
     ) {
-        orderService.order(memberId, itemId, count);
+        orderFacade.order(memberId, itemId, count);
         return "redirect:/orders";
     }
 
     @GetMapping("/orders")
     public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
-        List<Order> orders = orderService.findOrders(orderSearch);
+        List<OrderDto> orders = orderQueryService.findOrders(orderSearch);
         model.addAttribute("orders", orders);
 
         return "order/orderList";
@@ -54,7 +58,7 @@ public class OrderController {
 
     @PostMapping("/orders/{orderId}/cancel")
     public String cancelOrder(@PathVariable("orderId") Long orderId) {
-        orderService.cancelOrder(orderId);
+        orderFacade.cancelOrder(orderId);
         return "redirect:/orders";
     }
 }
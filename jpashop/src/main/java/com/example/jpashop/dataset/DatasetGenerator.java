@@ -0,0 +1,211 @@
+package com.example.jpashop.dataset;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Delivery;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.domain.item.Album;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.domain.item.Movie;
+import com.example.jpashop.repository.ItemRepository;
+import com.example.jpashop.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 부하 테스트용 데이터 생성 (jpashop.dataset.enabled=true 이면 시작 시 생성)
+ *
+ * 회원, 상품(Book / Album / Movie), 주문 순서로 chunkSize 마다 트랜잭션을 나눠서 저장한다.
+ * insert 는 hibernate.jdbc.batch_size 단위로 묶여서 나가고, chunk 마다 flush / clear 한다.
+ * 주문의 상품은 Zipf 분포로 골라서 일부 인기 상품에 주문이 몰리게 한다. (어떤 상품이 인기인지는 seed 로 섞는다.)
+ * 엔티티로 저장하므로 재고 차감, Order.totalPrice, order_summary, 회원 이름 인덱스가 모두 같이 반영된다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DatasetProperties.class)
+public class DatasetGenerator {
+
+    private static final String[] CITIES = {"서울", "부산", "인천", "대구", "대전", "광주"};
+    private static final int MAX_COUNT = 3;  // 주문상품 1개의 최대 수량
+
+    private final DatasetProperties properties;
+    private final EntityManager em;
+    private final MemberRepository memberRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatasetGenerator(DatasetProperties properties, EntityManager em, MemberRepository memberRepository,
+                            ItemRepository itemRepository, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.em = em;
+        this.memberRepository = memberRepository;
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateOnStartup() {
+        if (properties.isEnabled()) {
+            generate(properties);
+        }
+    }
+
+    public void generate(DatasetProperties dataset) {
+        long start = System.nanoTime();
+        Random random = new Random(dataset.getSeed());
+
+        List<Long> memberIds = persistAll(dataset.getMembers(), dataset.getChunkSize(),
+                DatasetGenerator::createMember, Member::getId);
+
+        int stockQuantity = (int) Math.min(Integer.MAX_VALUE, 100L + (long) dataset.getOrders() * MAX_COUNT);
+        List<Long> itemIds = persistAll(dataset.getItems(), dataset.getChunkSize(),
+                index -> createItem(index, random, stockQuantity), Item::getId);
+        Collections.shuffle(itemIds, random); // 인기 순위 -> 상품 id
+
+        ZipfDistribution popularity = new ZipfDistribution(itemIds.size(), dataset.getItemSkew());
+        for (int from = 0; from < dataset.getOrders(); from += dataset.getChunkSize()) {
+            int size = Math.min(dataset.getChunkSize(), dataset.getOrders() - from);
+            List<OrderPlan> plans = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                plans.add(OrderPlan.random(random, dataset, memberIds, itemIds, popularity));
+            }
+            transactionTemplate.executeWithoutResult(status -> persistOrders(plans));
+        }
+
+        log.info("dataset 생성 완료 members={}, items={}, orders={}, {}ms",
+                dataset.getMembers(), dataset.getItems(), dataset.getOrders(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * id 는 시퀀스로 persist 시점에 할당된다.
+     */
+    private <T> List<Long> persistAll(int count, int chunkSize, IntFunction<T> factory, Function<T, Long> id) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, count);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int index = start; index < end; index++) {
+                    T entity = factory.apply(index);
+                    em.persist(entity);
+                    ids.add(id.apply(entity));
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * chunk 의 회원 / 상품은 in 쿼리 한번씩으로 조회한다.
+     */
+    private void persistOrders(List<OrderPlan> plans) {
+        Set<Long> memberIds = plans.stream().map(OrderPlan::memberId).collect(Collectors.toSet());
+        Set<Long> itemIds = plans.stream().flatMap(plan -> plan.itemIds().stream()).collect(Collectors.toSet());
+        Map<Long, Member> members = memberRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        for (OrderPlan plan : plans) {
+            Member member = members.get(plan.memberId());
+            OrderItem[] orderItems = new OrderItem[plan.itemIds().size()];
+            for (int i = 0; i < orderItems.length; i++) {
+                Item item = items.get(plan.itemIds().get(i));
+                orderItems[i] = OrderItem.createOrderItem(item, item.getPrice(), plan.counts()[i]);
+            }
+
+            Delivery delivery = new Delivery();
+            delivery.setAddress(member.getAddress());
+
+            Order order = Order.createOrder(member, delivery, orderItems);
+            order.setOrderDate(plan.orderDate());
+            em.persist(order);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    private static Member createMember(int index) {
+        Member member = new Member();
+        member.setName("member" + index);
+        member.setAddress(new Address(CITIES[index % CITIES.length], "street" + index, String.format("%05d", index % 100_000)));
+        return member;
+    }
+
+    private static Item createItem(int index, Random random, int stockQuantity) {
+        Item item;
+        switch (index % 3) {
+            case 0 -> {
+                Book book = new Book();
+                book.setName("book" + index);
+                book.setAuthor("author" + index);
+                book.setIsbn(String.format("978-89-%07d", index));
+                item = book;
+            }
+            case 1 -> {
+                Album album = new Album();
+                album.setName("album" + index);
+                album.setArtist("artist" + index);
+                item = album;
+            }
+            default -> {
+                Movie movie = new Movie();
+                movie.setName("movie" + index);
+                movie.setDirector("director" + index);
+                movie.setActor("actor" + index);
+                item = movie;
+            }
+        }
+        item.setPrice((10 + random.nextInt(491)) * 100);    // 1,000 ~ 50,000
+        item.setStockQuantity(stockQuantity);
+        return item;
+    }
+
+    /**
+     * 트랜잭션 밖에서 미리 뽑아둔 주문 1개 (같은 seed 이면 chunk 크기와 상관없이 같은 주문이 생성된다.)
+     */
+    private record OrderPlan(Long memberId, List<Long> itemIds, int[] counts, LocalDateTime orderDate) {
+
+        static OrderPlan random(Random random, DatasetProperties dataset,
+                                List<Long> memberIds, List<Long> itemIds, ZipfDistribution popularity) {
+            Long memberId = memberIds.get(random.nextInt(memberIds.size()));
+
+            int itemCount = 1 + random.nextInt(Math.min(dataset.getMaxItemsPerOrder(), itemIds.size()));
+            Set<Long> picked = new LinkedHashSet<>();
+            while (picked.size() < itemCount) {
+                picked.add(itemIds.get(popularity.sample(random)));
+            }
+
+            int[] counts = new int[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                counts[i] = 1 + random.nextInt(MAX_COUNT);
+            }
+
+            long maxSeconds = Math.max(1, dataset.getOrderDays() * 86_400L);
+            LocalDateTime orderDate = LocalDateTime.now().minusSeconds((long) (random.nextDouble() * maxSeconds));
+            return new OrderPlan(memberId, new ArrayList<>(picked), counts, orderDate);
+        }
+    }
+}
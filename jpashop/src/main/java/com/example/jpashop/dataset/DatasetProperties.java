@@ -0,0 +1,51 @@
+package com.example.jpashop.dataset;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 부하 테스트용 데이터 생성 설정 (jpashop.dataset)
+ */
+@Data
+@ConfigurationProperties("jpashop.dataset")
+public class DatasetProperties {
+
+    /**
+     * true 이면 애플리케이션 시작 시 데이터를 생성한다.
+     */
+    private boolean enabled = false;
+
+    private int members = 1_000;
+
+    /**
+     * Book / Album / Movie 를 1/3 씩 생성한다.
+     */
+    private int items = 300;
+
+    private int orders = 10_000;
+
+    /**
+     * 주문 1개의 주문상품 수는 1 ~ maxItemsPerOrder 개 (서로 다른 상품)
+     */
+    private int maxItemsPerOrder = 3;
+
+    /**
+     * 상품 인기도의 Zipf 지수, 0 이면 균등하고 클수록 소수 상품에 주문이 몰린다.
+     */
+    private double itemSkew = 1.0;
+
+    /**
+     * 주문 시각을 현재부터 이 일수 이전까지 분산시킨다.
+     */
+    private int orderDays = 365;
+
+    /**
+     * 트랜잭션 하나에서 저장할 엔티티 수 (flush / clear 단위)
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * 같은 seed 이면 같은 데이터를 생성한다.
+     */
+    private long seed = 42;
+}
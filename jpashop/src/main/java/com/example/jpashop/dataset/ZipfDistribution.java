@@ -0,0 +1,34 @@
+package com.example.jpashop.dataset;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 순위 0 ~ size-1 을 Zipf 분포로 뽑는다. 순위 k 가 뽑힐 확률은 1 / (k+1)^exponent 에 비례한다.
+ * 누적 분포를 미리 계산해 두고 이진 탐색으로 뽑는다.
+ */
+class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size 는 1 이상이어야 합니다. size = " + size);
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.jpashop.domain;
+
+/**
+ * 엔티티 / 컬렉션 2차 캐시 region 이름
+ * region 별 TTL / 최대 개수는 application.yml 의 jpashop.cache.regions 로 지정한다.
+ * 이름에 '.' 이 들어간 region 은 yml 에서 "[category.child]" 처럼 대괄호로 감싸야 한다.
+ */
+public final class CacheRegions {
+
+    public static final String ITEM = "item";
+    public static final String MEMBER = "member";
+    public static final String CATEGORY = "category";
+    public static final String CATEGORY_CHILD = "category.child";
+
+    private static final String[] ALL = {ITEM, MEMBER, CATEGORY, CATEGORY_CHILD};
+
+    private CacheRegions() {
+    }
+
+    public static String[] all() {
+        return ALL.clone();
+    }
+}
@@ -10,7 +10,9 @@ import lombok.Setter;
 public class Delivery {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdGeneration.DELIVERY_SEQ)
+    @SequenceGenerator(name = IdGeneration.DELIVERY_SEQ, sequenceName = IdGeneration.DELIVERY_SEQ,
+            allocationSize = IdGeneration.DELIVERY_ALLOCATION_SIZE)
     @Column(name = "delivery_id")
     private Long id;
 
@@ -22,4 +24,7 @@ public class Delivery {
 
     @Enumerated(EnumType.STRING)    // EnumType 의 기본값이 `ORDINAL` 인데 이건 1,2,3 숫자라서 String 으로 꼭 바꿔야 한다.
     private DeliveryStatus status;  // READY, COMPLETE
+
+    @Version
+    private Long version;   // 동시에 변경하면 나중에 커밋하는 쪽이 실패한다.
 }
@@ -0,0 +1,28 @@
+package com.example.jpashop.domain;
+
+/**
+ * 엔티티 id 시퀀스 설정
+ * 시퀀스 값 하나로 allocationSize 개의 id 를 메모리에서 할당하므로(pooled-lo) insert 마다 시퀀스를 조회하지 않는다.
+ * 쓰기가 많은 엔티티일수록 크게 잡는다. (서버 재시작 시 할당 받고 쓰지 않은 id 만큼 빈 번호가 생긴다.)
+ * optimizer 는 application.yml 의 hibernate.id.optimizer.pooled.preferred 로 지정한다.
+ */
+public final class IdGeneration {
+
+    public static final String ORDER_SEQ = "orders_seq";
+    public static final String ORDER_ITEM_SEQ = "order_item_seq";
+    public static final String DELIVERY_SEQ = "delivery_seq";
+    public static final String MEMBER_SEQ = "member_seq";
+    public static final String ITEM_SEQ = "item_seq";
+    public static final String CATEGORY_SEQ = "category_seq";
+
+    // 주문 / 주문상품 / 배송은 hibernate.jdbc.batch_size 와 맞춘다.
+    public static final int ORDER_ALLOCATION_SIZE = 100;
+    public static final int ORDER_ITEM_ALLOCATION_SIZE = 100;
+    public static final int DELIVERY_ALLOCATION_SIZE = 100;
+    public static final int MEMBER_ALLOCATION_SIZE = 50;
+    public static final int ITEM_ALLOCATION_SIZE = 50;
+    public static final int CATEGORY_ALLOCATION_SIZE = 10;
+
+    private IdGeneration() {
+    }
+}
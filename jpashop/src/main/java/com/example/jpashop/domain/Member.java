@@ -5,17 +5,22 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MEMBER)
 @Getter @Setter
 public class Member {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdGeneration.MEMBER_SEQ)
+    @SequenceGenerator(name = IdGeneration.MEMBER_SEQ, sequenceName = IdGeneration.MEMBER_SEQ,
+            allocationSize = IdGeneration.MEMBER_ALLOCATION_SIZE)
     @Column(name = "member_id")
     private Long id;
 
@@ -24,6 +29,9 @@ public class Member {
     @Embedded // 내장 Type 사용
     private Address address;
 
+    @Version
+    private Long version;   // 동시에 변경하면 나중에 커밋하는 쪽이 실패한다.
+
     @JsonIgnore
     @OneToMany(mappedBy = "member") // 연관 관계의 주인 즉, READ ONLY 로 바뀜
     private List<Order> orders = new ArrayList<>();
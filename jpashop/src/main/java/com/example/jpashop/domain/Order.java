@@ -11,13 +11,36 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@NamedQueries({  // 주문 검색 조건 조합별 JPQL, 애플리케이션 로딩 시점에 한번만 파싱된다. (OrderRepository.findAll)
+        @NamedQuery(name = Order.SEARCH,
+                query = "select o from Order o join o.member m"),
+        @NamedQuery(name = Order.SEARCH_BY_STATUS,
+                query = "select o from Order o join o.member m where o.status = :status"),
+        @NamedQuery(name = Order.SEARCH_BY_NAME,
+                query = "select o from Order o join o.member m where m.name like :name"),
+        @NamedQuery(name = Order.SEARCH_BY_STATUS_AND_NAME,
+                query = "select o from Order o join o.member m where o.status = :status and m.name like :name"),
+        @NamedQuery(name = Order.SEARCH_BY_MEMBER_IDS,
+                query = "select o from Order o where o.member.id in :memberIds"),
+        @NamedQuery(name = Order.SEARCH_BY_STATUS_AND_MEMBER_IDS,
+                query = "select o from Order o where o.status = :status and o.member.id in :memberIds")
+})
+@Table(name = "orders", indexes = @Index(name = "idx_orders_order_date_id", columnList = "order_date, order_id"))
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
 
+    public static final String SEARCH = "Order.search";
+    public static final String SEARCH_BY_STATUS = "Order.searchByStatus";
+    public static final String SEARCH_BY_NAME = "Order.searchByName";
+    public static final String SEARCH_BY_STATUS_AND_NAME = "Order.searchByStatusAndName";
+    public static final String SEARCH_BY_MEMBER_IDS = "Order.searchByMemberIds";
+    public static final String SEARCH_BY_STATUS_AND_MEMBER_IDS = "Order.searchByStatusAndMemberIds";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdGeneration.ORDER_SEQ)
+    @SequenceGenerator(name = IdGeneration.ORDER_SEQ, sequenceName = IdGeneration.ORDER_SEQ,
+            allocationSize = IdGeneration.ORDER_ALLOCATION_SIZE)
     @Column(name = "order_id")
     private Long id;
 
@@ -37,6 +60,12 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;    // 주문 상태 [ORDER, CANCEL]
 
+    @Setter(AccessLevel.NONE)
+    private int totalPrice;    // 주문상품 가격 합계, addOrderItem 에서 누적 (목록 조회 시 주문상품을 읽지 않도록 저장)
+
+    @Version
+    private Long version;   // 주문이 변경될 때마다 증가, 동시에 변경하면 나중에 커밋하는 쪽이 실패한다.
+
     // == 연관관계 편의 메소드 == //
     public void setMember(Member member) {
         this.member = member;
@@ -46,6 +75,7 @@ public class Order {
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        totalPrice += orderItem.getTotalPrice();
     }
 
     public void setDelivery(Delivery delivery) {
@@ -71,30 +101,34 @@ public class Order {
     // == 비지니스 로직 == //
     /**
      * 주문 취소
+     * 주문 금액(totalPrice)은 주문 당시 금액으로 유지한다.
      */
     public void cancel() {
-        if (delivery.getStatus() == DeliveryStatus.COMPLETE) {
-            throw new IllegalStateException("이미 배송완료된 상품은 취소가 불가능합니다");
-        }
-
+        checkCancelable();
         this.setStatus(OrderStatus.CANCEL);
         for (OrderItem orderItem: orderItems) {
            orderItem.cancel();
         }
     }
 
-    // == 조회 로직 == //
     /**
-     * 전체 주문 가격 조회
+     * 재고는 복구하지 않고 주문 상태만 취소로 변경
+     * 재고는 OrderCancelQueue 가 여러 취소 건을 상품별로 모아서 한번에 복구한다.
+     */
+    public void markCanceled() {
+        checkCancelable();
+        this.setStatus(OrderStatus.CANCEL);
+    }
+
+    /**
+     * 이미 취소된 주문을 다시 취소하면 재고가 두 번 복구되므로 막는다.
      */
-    public int getTotalPrice() {
-//        int totalPrice = 0;
-//        for (OrderItem orderItem : orderItems) {
-//            totalPrice += orderItem.getTotalPrice();
-//        }
-//        return totalPrice;
-        return orderItems.stream()
-                .mapToInt(OrderItem::getTotalPrice)
-                .sum();
+    private void checkCancelable() {
+        if (status == OrderStatus.CANCEL) {
+            throw new IllegalStateException("이미 취소된 주문입니다");
+        }
+        if (delivery.getStatus() == DeliveryStatus.COMPLETE) {
+            throw new IllegalStateException("이미 배송완료된 상품은 취소가 불가능합니다");
+        }
     }
 }
@@ -14,7 +14,9 @@ import lombok.Setter;
 public class OrderItem {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdGeneration.ORDER_ITEM_SEQ)
+    @SequenceGenerator(name = IdGeneration.ORDER_ITEM_SEQ, sequenceName = IdGeneration.ORDER_ITEM_SEQ,
+            allocationSize = IdGeneration.ORDER_ITEM_ALLOCATION_SIZE)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -42,6 +44,17 @@ public class OrderItem {
         return orderItem;
     }
 
+    /**
+     * 재고 차감이 DB 에서 이미 처리된 경우 (ItemRepository.decreaseStock)
+     */
+    public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setOrderPrice(orderPrice);
+        orderItem.setCount(count);
+        return orderItem;
+    }
+
     // == 비지니스 로직 == //
     public void cancel() {
         getItem().addStock(count);
@@ -0,0 +1,42 @@
+package com.example.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 조회용 비정규화 테이블 (주문 + 회원 + 배송 + 주문상품 합계)
+ * 애플리케이션에서 직접 변경하지 않고 OrderSummaryListener 가 커밋 직전에 원본 테이블에서 다시 계산해서 반영한다.
+ */
+@Entity
+@Immutable
+@Table(name = "order_summary")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderSummary {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private String memberName;
+
+    @Embedded
+    private Address address;    // 배송지
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    private LocalDateTime orderDate;
+
+    private int totalPrice;     // Order.totalPrice
+
+    private int itemCount;      // 주문상품 수
+}
@@ -1,18 +1,25 @@
 package com.example.jpashop.domain.item;
 
+import com.example.jpashop.domain.CacheRegions;
+import com.example.jpashop.domain.IdGeneration;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CATEGORY)
 @Getter @Setter
 public class Category {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdGeneration.CATEGORY_SEQ)
+    @SequenceGenerator(name = IdGeneration.CATEGORY_SEQ, sequenceName = IdGeneration.CATEGORY_SEQ,
+            allocationSize = IdGeneration.CATEGORY_ALLOCATION_SIZE)
     @Column(name = "category_id")
     private Long id;
 
@@ -21,7 +28,8 @@ public class Category {
     @ManyToMany
     @JoinTable(name = "category_item",
             joinColumns = @JoinColumn(name = "category_id"),
-            inverseJoinColumns = @JoinColumn(name = "item_id")
+            inverseJoinColumns = @JoinColumn(name = "item_id"),
+            indexes = @Index(name = "idx_category_item", columnList = "category_id, item_id")
     )
     private List<Item> items = new ArrayList<>();
 
@@ -29,12 +37,40 @@ public class Category {
     @JoinColumn(name = "parent_id")
     private Category parent;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CATEGORY_CHILD)
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
 
+    /**
+     * 자기 자신(depth 0)을 포함한 모든 상위 카테고리 (closure table)
+     */
+    @OneToMany(mappedBy = "descendant", cascade = CascadeType.PERSIST)
+    private List<CategoryClosure> ancestors = new ArrayList<>();
+
     // == 연관관계 편의 메소드 ==
+    /**
+     * 하위 카테고리 추가, 부모의 상위 카테고리마다 거리 + 1 로 closure 를 만든다.
+     * 이미 트리에 연결된 카테고리를 옮기는 것은 지원하지 않는다. (하위 트리 전체의 closure 를 다시 만들어야 한다.)
+     */
     public void addChildCategory(Category child) {
+        if (child.getParent() != null || !child.getChild().isEmpty()) {
+            throw new IllegalStateException("이미 트리에 연결된 카테고리는 추가할 수 없습니다.");
+        }
         this.child.add(child);
         child.setParent(this);
+
+        addSelfClosure();
+        child.addSelfClosure();
+        for (CategoryClosure closure : this.ancestors) {
+            child.ancestors.add(new CategoryClosure(closure.getAncestor(), child, closure.getDepth() + 1));
+        }
+    }
+
+    @PrePersist
+    void addSelfClosure() {
+        boolean hasSelf = ancestors.stream().anyMatch(closure -> closure.getDepth() == 0);
+        if (!hasSelf) {
+            ancestors.add(new CategoryClosure(this, this, 0));
+        }
     }
 }
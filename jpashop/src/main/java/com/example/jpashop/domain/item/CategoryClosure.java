@@ -0,0 +1,47 @@
+package com.example.jpashop.domain.item;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 카테고리 closure table, (상위 카테고리, 하위 카테고리, 거리) 를 모든 쌍에 대해 저장한다.
+ * 자기 자신도 depth 0 으로 포함하므로 ancestor_id 로 조회하면 하위 트리 전체가 한번에 나온다.
+ * Category.addChildCategory 에서 만들어지고 Category 저장 시 함께 저장된다.
+ */
+@Entity
+@IdClass(CategoryClosure.Key.class)
+@Table(name = "category_closure", indexes = @Index(name = "idx_category_closure_descendant", columnList = "descendant_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CategoryClosure {
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestor_id")
+    private Category ancestor;
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id")
+    private Category descendant;
+
+    private int depth;  // 0 이면 자기 자신
+
+    CategoryClosure(Category ancestor, Category descendant, int depth) {
+        this.ancestor = ancestor;
+        this.descendant = descendant;
+        this.depth = depth;
+    }
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestor;
+        private Long descendant;
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.jpashop.domain.item;
 
+import com.example.jpashop.domain.CacheRegions;
+import com.example.jpashop.domain.IdGeneration;
 import com.example.jpashop.exception.NotEnoughStockException;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,11 +15,15 @@ import java.util.List;
 @Entity
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "dtype")
+@Table(indexes = @Index(name = "idx_item_dtype", columnList = "dtype, item_id")) // 종류별 목록 조회
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ITEM) // Book, Album, Movie 도 같은 region 사용
 @Getter @Setter
 public abstract class Item {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdGeneration.ITEM_SEQ)
+    @SequenceGenerator(name = IdGeneration.ITEM_SEQ, sequenceName = IdGeneration.ITEM_SEQ,
+            allocationSize = IdGeneration.ITEM_ALLOCATION_SIZE)
     @Column(name = "item_id")
     private Long id;
 
@@ -23,6 +31,9 @@ public abstract class Item {
     private int price;
     private int stockQuantity;
 
+    @Version
+    private Long version;   // 동시에 재고를 변경하면 나중에 커밋하는 쪽이 실패한다.
+
     @ManyToMany(mappedBy = "items")
     private List<Category> categories = new ArrayList<Category>();
 
@@ -0,0 +1,11 @@
+package com.example.jpashop.exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException() {
+        super();
+    }
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
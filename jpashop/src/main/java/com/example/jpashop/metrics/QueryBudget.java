@@ -0,0 +1,22 @@
+package com.example.jpashop.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * API 한번 호출에 허용하는 최대 SQL 실행 횟수
+ * 초과하면 경고 로그를 남기고 jpashop.query-metrics.fail-on-budget-exceeded=true 이면 예외가 발생한다. (테스트용)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    /**
+     * 최대 SQL 실행 횟수 (batch 는 1번)
+     */
+    int statements();
+}
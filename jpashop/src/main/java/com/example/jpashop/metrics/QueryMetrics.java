@@ -0,0 +1,60 @@
+package com.example.jpashop.metrics;
+
+import lombok.Getter;
+
+/**
+ * 요청 하나에서 실행된 SQL / 엔티티 로딩 / 컬렉션 초기화 / flush 집계
+ * 요청 스레드에 묶어서 사용하므로 다른 스레드(비동기, StreamingResponseBody 등)에서 실행된 쿼리는 집계되지 않는다.
+ */
+@Getter
+public class QueryMetrics {
+
+    private static final ThreadLocal<QueryMetrics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long jdbcNanos;
+    private long entityLoads;
+    private long collectionFetches;
+    private long flushes;
+    private long flushNanos;
+    private long connectionHoldNanos;
+
+    public static QueryMetrics start() {
+        QueryMetrics metrics = new QueryMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * 집계 중이 아니면 null
+     */
+    public static QueryMetrics current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionFetched() {
+        collectionFetches++;
+    }
+
+    void connectionReleased(long heldNanos) {
+        connectionHoldNanos += heldNanos;
+    }
+
+    void flushed(long nanos) {
+        flushes++;
+        flushNanos += nanos;
+    }
+}
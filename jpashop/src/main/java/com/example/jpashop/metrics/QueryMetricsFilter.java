@@ -0,0 +1,108 @@
+package com.example.jpashop.metrics;
+
+import com.example.jpashop.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 SQL 실행 횟수 / JDBC 시간 / 엔티티 로딩 / 컬렉션 초기화 / flush 시간을 집계해서
+ * 핸들러의 URL 패턴(/api/v2/orders 등) 별 Micrometer 지표로 남긴다.
+ * OSIV 에서 JSON 직렬화 중에 발생하는 지연 로딩까지 포함하도록 필터에서 집계한다.
+ *
+ * jpashop.sql.statements          요청당 SQL 실행 횟수
+ * jpashop.sql.jdbc                요청당 JDBC 실행 시간
+ * jpashop.sql.entity.loads        요청당 엔티티 로딩 수
+ * jpashop.sql.collection.fetches  요청당 컬렉션 초기화 수
+ * jpashop.sql.flush               요청당 flush 시간
+ * jpashop.sql.connection.hold     요청당 DB 커넥션 점유 시간 (OSIV on / off 비교)
+ * jpashop.sql.budget.exceeded     @QueryBudget 초과 횟수
+ */
+@Slf4j
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final boolean failOnBudgetExceeded;
+
+    public QueryMetricsFilter(MeterRegistry registry, boolean failOnBudgetExceeded) {
+        this.registry = registry;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryMetrics metrics = QueryMetrics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryMetrics.clear();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // 정적 리소스 등 핸들러 매핑 전에 끝난 요청
+            return;
+        }
+        Tags tags = Tags.of("uri", pattern.toString(), "method", request.getMethod());
+        record(metrics, tags);
+        checkBudget(request, metrics, pattern.toString(), tags);
+    }
+
+    private void record(QueryMetrics metrics, Tags tags) {
+        summary("jpashop.sql.statements", "SQL statements per request", tags).record(metrics.getStatements());
+        summary("jpashop.sql.entity.loads", "Entities loaded per request", tags).record(metrics.getEntityLoads());
+        summary("jpashop.sql.collection.fetches", "Collections initialized per request", tags).record(metrics.getCollectionFetches());
+        timer("jpashop.sql.jdbc", "JDBC execution time per request", tags).record(metrics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        timer("jpashop.sql.flush", "Flush time per request", tags).record(metrics.getFlushNanos(), TimeUnit.NANOSECONDS);
+        timer("jpashop.sql.connection.hold", "Connection hold time per request", tags)
+                .record(metrics.getConnectionHoldNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void checkBudget(HttpServletRequest request, QueryMetrics metrics, String pattern, Tags tags) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        if (budget == null || metrics.getStatements() <= budget.statements()) {
+            return;
+        }
+
+        registry.counter("jpashop.sql.budget.exceeded", tags).increment();
+        String message = String.format("%s %s 의 SQL 실행 횟수가 허용치를 초과했습니다. (%d > %d)",
+                request.getMethod(), pattern, metrics.getStatements(), budget.statements());
+        if (failOnBudgetExceeded) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
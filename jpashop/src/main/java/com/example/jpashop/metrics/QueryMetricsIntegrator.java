@@ -0,0 +1,52 @@
+package com.example.jpashop.metrics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * 엔티티 로딩 / 컬렉션 초기화 횟수를 세는 Hibernate 이벤트 리스너 등록
+ */
+public class QueryMetricsIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, new EntityLoadListener());
+        registry.appendListeners(EventType.INIT_COLLECTION, new CollectionFetchListener());
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    static class EntityLoadListener implements PostLoadEventListener {
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            QueryMetrics metrics = QueryMetrics.current();
+            if (metrics != null) {
+                metrics.entityLoaded();
+            }
+        }
+    }
+
+    static class CollectionFetchListener implements InitializeCollectionEventListener {
+
+        @Override
+        public void onInitializeCollection(InitializeCollectionEvent event) {
+            QueryMetrics metrics = QueryMetrics.current();
+            if (metrics != null) {
+                metrics.collectionFetched();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.jpashop.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Session 마다 생성되어 SQL 실행 / flush / 커넥션 점유 시간을 현재 요청의 QueryMetrics 에 더한다.
+ * hibernate.session.events.auto 로 등록한다. (QueryMetricsConfig)
+ */
+public class QueryMetricsSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long flushStart;
+    private long connectionAcquired;
+
+    /**
+     * 커넥션을 얻은 시점부터 반납할 때까지가 점유 시간이다.
+     * OSIV 가 켜져 있으면 Session 이 닫히는 요청 종료 시점에 반납된다.
+     */
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        connectionAcquired = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionReleaseEnd() {
+        QueryMetrics metrics = QueryMetrics.current();
+        if (metrics != null && connectionAcquired != 0) {
+            metrics.connectionReleased(System.nanoTime() - connectionAcquired);
+        }
+        connectionAcquired = 0;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statementExecuted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statementExecuted();
+    }
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        QueryMetrics metrics = QueryMetrics.current();
+        if (metrics != null) {
+            metrics.flushed(System.nanoTime() - flushStart);
+        }
+    }
+
+    private void statementExecuted() {
+        QueryMetrics metrics = QueryMetrics.current();
+        if (metrics != null) {
+            metrics.statementExecuted(System.nanoTime() - statementStart);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.jpashop.repository;
+
+import com.example.jpashop.domain.item.Category;
+import com.example.jpashop.domain.item.Item;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    /**
+     * 트리 스냅샷용 (id, name, parentId), 엔티티를 만들지 않고 한번에 조회
+     */
+    public List<Object[]> findAllForTree() {
+        return em.createQuery("select c.id, c.name, c.parent.id from Category c order by c.id", Object[].class)
+                .getResultList();
+    }
+
+    /**
+     * 하위 트리(자기 자신 포함)에 속한 상품
+     * 레벨마다 자식을 조회하지 않고 closure table 의 (ancestor_id, descendant_id) PK 로 한번에 조인한다.
+     */
+    public List<Item> findItemsInSubtree(Long categoryId) {
+        return em.createQuery(
+                "select distinct i from CategoryClosure cc " +
+                        "join cc.descendant c " +
+                        "join c.items i " +
+                        "where cc.ancestor.id = :categoryId", Item.class)
+                .setParameter("categoryId", categoryId)
+                .getResultList();
+    }
+}
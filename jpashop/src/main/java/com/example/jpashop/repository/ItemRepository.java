@@ -1,18 +1,40 @@
 package com.example.jpashop.repository;
 
+import com.example.jpashop.domain.item.Album;
+import com.example.jpashop.domain.item.Book;
 import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.domain.item.Movie;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
 public class ItemRepository {
 
+    /**
+     * dtype -> 하위 타입
+     */
+    private static final Map<String, Class<? extends Item>> ITEM_TYPES = Map.of(
+            "Book", Book.class,
+            "Album", Album.class,
+            "Movie", Movie.class
+    );
+
+    private static final String DECREASE_STOCK =
+            "update item set stock_quantity = stock_quantity - ?, version = version + 1 " +
+                    "where item_id = ? and stock_quantity >= ?";
+
     private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
 
     public void save(Item item) {
         if (item.getId() == null) {
@@ -26,8 +48,74 @@ public class ItemRepository {
         return em.find(Item.class, id);
     }
 
+    /**
+     * 재고가 충분할 때만 한번의 update 로 재고 차감
+     * 조회 후 변경(read-modify-write) 하지 않으므로 동시에 주문해도 재고가 음수가 되지 않는다.
+     * JPQL bulk update 는 item 2차 캐시 region 전체를 비우므로 JDBC 로 실행하고, 커밋 후 해당 상품만 캐시에서 지운다.
+     * @return 변경된 row 수 (0 이면 재고 부족)
+     */
+    public int decreaseStock(Long itemId, int quantity) {
+        int updated = jdbcTemplate.update(DECREASE_STOCK, quantity, itemId, quantity);
+        if (updated > 0) {
+            evictAfterCommit(itemId);
+        }
+        return updated;
+    }
+
+    private void evictAfterCommit(Long itemId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                em.getEntityManagerFactory().getCache().evict(Item.class, itemId);
+            }
+        });
+    }
+
+    public List<Item> findAllById(Collection<Long> ids) {
+        return em.createQuery("select i from Item i where i.id in :ids", Item.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
     public List<Item> findAll() {
         return em.createQuery("select i from Item i", Item.class)
                 .getResultList();
     }
+
+    /**
+     * 목록 화면용, 공통 컬럼 5개만 조회한다.
+     */
+    public List<ItemSummary> findSummaries() {
+        return em.createQuery(
+                        "select new com.example.jpashop.repository.ItemSummary(i.id, type(i), i.name, i.price, i.stockQuantity)" +
+                                " from Item i" +
+                                " order by i.id", ItemSummary.class)
+                .getResultList();
+    }
+
+    /**
+     * type(i) 조건은 where dtype = ? 으로 바뀌어서 idx_item_dtype(dtype, item_id) 를 탄다.
+     */
+    public List<ItemSummary> findSummaries(String dtype) {
+        Class<? extends Item> type = ITEM_TYPES.get(dtype);
+        if (type == null) {
+            throw new IllegalArgumentException(unsupportedType(dtype));
+        }
+
+        return em.createQuery(
+                        "select new com.example.jpashop.repository.ItemSummary(i.id, type(i), i.name, i.price, i.stockQuantity)" +
+                                " from Item i" +
+                                " where type(i) = :type" +
+                                " order by i.id", ItemSummary.class)
+                .setParameter("type", type)
+                .getResultList();
+    }
+
+    public static boolean isSupportedType(String dtype) {
+        return ITEM_TYPES.containsKey(dtype);
+    }
+
+    public static String unsupportedType(String dtype) {
+        return "지원하지 않는 상품 종류입니다. dtype = " + dtype;
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.jpashop.repository;
+
+import com.example.jpashop.domain.item.Item;
+import jakarta.persistence.DiscriminatorValue;
+import lombok.Getter;
+
+/**
+ * 상품 목록용 projection
+ * SINGLE_TABLE 의 하위 타입 컬럼(author, isbn, artist ...) 은 읽지 않는다.
+ */
+@Getter
+public class ItemSummary {
+
+    private final Long id;
+    private final String dtype;
+    private final String name;
+    private final int price;
+    private final int stockQuantity;
+
+    public ItemSummary(Long id, Class<? extends Item> type, String name, int price, int stockQuantity) {
+        this.id = id;
+        this.dtype = type.getAnnotation(DiscriminatorValue.class).value(); // type(i) 는 dtype 컬럼으로 조회된다.
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+    }
+}
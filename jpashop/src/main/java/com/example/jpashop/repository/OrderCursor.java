@@ -0,0 +1,45 @@
+package com.example.jpashop.repository;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 목록 keyset 페이징의 기준 위치 (orderDate, orderId)
+ * API 에는 encode() 한 불투명 토큰으로만 노출한다.
+ */
+@Getter
+public class OrderCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime orderDate;
+    private final Long orderId;
+
+    public OrderCursor(LocalDateTime orderDate, Long orderId) {
+        this.orderDate = orderDate;
+        this.orderId = orderId;
+    }
+
+    public String encode() {
+        String raw = orderDate + DELIMITER + orderId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.indexOf(DELIMITER);
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, index)),
+                    Long.valueOf(raw.substring(index + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.", e);
+        }
+    }
+}
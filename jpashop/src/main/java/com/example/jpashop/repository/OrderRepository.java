@@ -5,22 +5,50 @@ import com.example.jpashop.domain.OrderStatus;
 import com.example.jpashop.domain.QMember;
 import com.example.jpashop.domain.QOrder;
 import com.example.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
+import com.example.jpashop.repository.support.MemberNameIndex;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderRepository {
 
+    /**
+     * 검색 조건 조합(상태 / 회원 이름 유무) 별로 미리 파싱해 둔 named query 를 사용한다.
+     * index : 상태 조건 + 2 * 이름 조건(0 없음, 1 like, 2 회원 id in)
+     */
+    private static final String[] SEARCH_QUERIES = {
+            Order.SEARCH,
+            Order.SEARCH_BY_STATUS,
+            Order.SEARCH_BY_NAME,
+            Order.SEARCH_BY_STATUS_AND_NAME,
+            Order.SEARCH_BY_MEMBER_IDS,
+            Order.SEARCH_BY_STATUS_AND_MEMBER_IDS
+    };
+
     private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final ObjectProvider<MemberNameIndex> memberNameIndex;
+
+    @Value("${jpashop.query.fetch-size:100}")
+    private int fetchSize;
 
     public void save(Order order) {
         em.persist(order);
@@ -30,44 +58,35 @@ public class OrderRepository {
         return em.find(Order.class, id);
     }
 
+    /**
+     * 회원 이름 조건은 MemberNameIndex 로 회원 id 를 먼저 찾아서 member_id in 으로 조회한다.
+     * 인덱스로 처리할 수 없는 패턴이면 like 로 조회한다.
+     */
     public List<Order> findAll(OrderSearch orderSearch) {
-        // language=JPAQL
-        String jpql = "select o From Order o join o.member m";
-        boolean isFirstCondition = true;
-
-        // 주문 상태 검색
-        if (orderSearch.getOrderStatus() != null) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " o.status = :status";
-        }
+        boolean hasStatus = orderSearch.getOrderStatus() != null;
+        int nameCondition = 0;
+        Set<Long> memberIds = null;
 
-        // 회원 이름 검색
         if (StringUtils.hasText(orderSearch.getMemberName())) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
+            MemberNameIndex index = memberNameIndex.getIfAvailable();
+            memberIds = index == null ? null : index.find(orderSearch.getMemberName()).orElse(null);
+            if (memberIds != null && memberIds.isEmpty()) {
+                return new ArrayList<>();
             }
-            jpql += " m.name like :name";
+            nameCondition = memberIds == null ? 1 : 2;
         }
 
-        TypedQuery<Order> query = em.createQuery(jpql, Order.class)
+        TypedQuery<Order> query = em.createNamedQuery(SEARCH_QUERIES[(hasStatus ? 1 : 0) + 2 * nameCondition], Order.class)
                 .setMaxResults(1000); //최대 1000건
 
-        if (orderSearch.getOrderStatus() != null) {
-            query = query.setParameter("status", orderSearch.getOrderStatus());
+        if (hasStatus) {
+            query.setParameter("status", orderSearch.getOrderStatus());
         }
-
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            query = query.setParameter("name", orderSearch.getMemberName());
+        if (nameCondition == 1) {
+            query.setParameter("name", orderSearch.getMemberName());
+        } else if (nameCondition == 2) {
+            query.setParameter("memberIds", memberIds);
         }
-
         return query.getResultList();
     }
 
@@ -78,8 +97,7 @@ public class OrderRepository {
         QOrder order = QOrder.order;
         QMember member = QMember.member;
 
-        JPAQueryFactory query = new JPAQueryFactory(em);
-        return query
+        return queryFactory
                 .select(order)
                 .from(order)
                 .join(order.member, member)
@@ -102,41 +120,109 @@ public class OrderRepository {
         return QOrder.order.status.eq(orderStatus);
     }
 
+    /**
+     * 주문 취소용, 배송 / 주문상품을 함께 조회 (상품은 id 만 사용하므로 조회하지 않는다.)
+     */
+    public List<Order> findAllWithOrderItems(Collection<Long> ids) {
+        return em.createQuery(
+                "select distinct o from Order o " +
+                        "join fetch o.delivery d " +
+                        "join fetch o.orderItems oi " +
+                        "where o.id in :ids", Order.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
     // fetch join
     public List<Order> findAllWithMemberDelivery() {
-        return em.createQuery(
+        return withFetchSize(em.createQuery(
                 "select o from Order o " +
                 "join fetch o.member m " +
-                "join fetch o.delivery d", Order.class
+                "join fetch o.delivery d", Order.class)
         ).getResultList();
     }
 
     // DTO(OrderSimpleQueryDto) 로 조회
     public List<OrderSimpleQueryDto> findOrderDtos() {
         return  em.createQuery(
-                "select new com.example.jpashop.repository.simplequery.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address) from Order o " +
+                "select new com.example.jpashop.repository.order.simplequery.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address, o.totalPrice) from Order o " +
                         "join o.member m " +
                         "join o.delivery d ", OrderSimpleQueryDto.class)
                 .getResultList();
     }
 
     public List<Order> findAllWithItem() {
-        return em.createQuery(
+        return withFetchSize(em.createQuery(
                 "select distinct o from Order o " +
                         "join fetch o.member m " +
                         "join fetch o.delivery d " +
                         "join fetch o.orderItems oi " +
-                        "join fetch oi.item i ", Order.class)
+                        "join fetch oi.item i ", Order.class))
                 .getResultList();
     }
 
     public List<Order> findAllWithMemberDelivery(int offset, int limit) {
-        return em.createQuery(
+        return withFetchSize(em.createQuery(
                 "select o from Order o " +
                         "join fetch o.member m " +
-                        "join fetch o.delivery d", Order.class)
+                        "join fetch o.delivery d", Order.class))
                 .setFirstResult(offset)
                 .setMaxResults(limit)
                 .getResultList();
     }
+
+    /**
+     * keyset(seek) 페이징
+     * offset 방식은 앞의 row 를 모두 읽고 버리므로 뒤 페이지로 갈수록 느려지지만
+     * (orderDate, id) 인덱스에서 cursor 다음 위치부터 limit 개만 읽으므로 몇 번째 페이지든 비용이 같다.
+     * cursor 가 null 이면 첫 페이지를 조회한다.
+     */
+    public List<Order> findAllWithMemberDelivery(OrderCursor cursor, int limit) {
+        if (cursor == null) {
+            return withFetchSize(em.createQuery(
+                            "select o from Order o " +
+                                    "join fetch o.member m " +
+                                    "join fetch o.delivery d " +
+                                    "order by o.orderDate desc, o.id desc", Order.class))
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+
+        return withFetchSize(em.createQuery(
+                        "select o from Order o " +
+                                "join fetch o.member m " +
+                                "join fetch o.delivery d " +
+                                "where o.orderDate < :orderDate " +
+                                "or (o.orderDate = :orderDate and o.id < :orderId) " +
+                                "order by o.orderDate desc, o.id desc", Order.class))
+                .setParameter("orderDate", cursor.getOrderDate())
+                .setParameter("orderId", cursor.getOrderId())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 전체 주문을 forward-only 커서로 순회
+     * _ToOne 관계만 fetch join 하고, orderItems 는 default_batch_fetch_size 로 나누어 조회한다.
+     * 반드시 트랜잭션 안에서 사용하고 다 읽은 후 close 해야 한다.
+     */
+    public ScrollableResults<Order> scrollAllWithMemberDelivery(int fetchSize) {
+        return em.unwrap(Session.class).createQuery(
+                        "select o from Order o " +
+                                "join fetch o.member m " +
+                                "join fetch o.delivery d " +
+                                "order by o.id", Order.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    /**
+     * 목록 쿼리의 fetch size: 드라이버가 한번에 가져오는 row 수 (jpashop.query.fetch-size)
+     * read only 힌트는 주지 않는다. 같은 영속성 컨텍스트(OSIV)에서 뒤이어 같은 엔티티를 수정하면
+     * 변경이 flush 되지 않기 때문이다. 읽기 전용 로딩은 OrderQueryService 의 readOnly 트랜잭션이 맡는다.
+     */
+    private <T> TypedQuery<T> withFetchSize(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+    }
 }
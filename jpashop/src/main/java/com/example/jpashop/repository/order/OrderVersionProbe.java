@@ -0,0 +1,94 @@
+package com.example.jpashop.repository.order;
+
+import com.example.jpashop.domain.Delivery;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.domain.item.Item;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문 목록 API 의 ETag 계산 (SQL 을 실행하지 않는다.)
+ *
+ * 응답에 포함되는 엔티티가 커밋될 때마다 올리는 메모리 변경 번호로 ETag 를 만든다.
+ *   orders : Order / OrderItem / Member / Delivery 변경 (주문, 회원 이름, 배송 주소)
+ *   items  : Item 변경 (주문상품의 상품 이름, V2 만 사용)
+ * 서버 시작 시각도 넣어서 재시작하면 이전 ETag 는 모두 맞지 않게 한다.
+ * 요청마다 테이블을 집계하지 않으므로 비용은 데이터 양과 상관없고, 변경 번호는 메모리에만 있어서 쓰기끼리 경합하는 row 도 없다.
+ *
+ * Hibernate 커밋 후 이벤트 리스너로 등록한다. (EntityListenerConfig)
+ * 커밋 전에 올리면 아직 보이지 않는 변경이 새 ETag 로 캐시되므로 커밋 후에 올린다.
+ * - 엔티티를 거치지 않는 JDBC / bulk update 는 감지하지 못한다. (재고 차감은 응답에 포함되지 않는다.)
+ * - 단일 인스턴스 기준이다. 다른 서버에서 변경한 내용은 알 수 없다.
+ */
+@Component
+public class OrderVersionProbe implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final String startedAt = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong orders = new AtomicLong();
+    private final AtomicLong items = new AtomicLong();
+
+    /**
+     * 주문 + 회원 + 배송 (OrderSimpleQueryDto)
+     */
+    public String simpleOrdersEtag() {
+        return startedAt + "-" + Long.toHexString(orders.get());
+    }
+
+    /**
+     * 주문상품의 상품 이름까지 포함 (OrderDto)
+     */
+    public String ordersWithItemsEtag() {
+        return simpleOrdersEtag() + "-" + Long.toHexString(items.get());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void changed(Object entity) {
+        if (entity instanceof Order || entity instanceof OrderItem || entity instanceof Member || entity instanceof Delivery) {
+            orders.incrementAndGet();
+        } else if (entity instanceof Item) {
+            items.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.jpashop.repository.order.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * findAllByDto_flat() 결과(주문 x 주문상품 row)를 주문 단위 OrderQueryDto 로 조립
+ *
+ * row 가 orderId 순으로 정렬되어 있으므로(order by o.id) 같은 주문의 row 는 항상 붙어 있다.
+ * 따라서 Map 으로 묶지 않고 직전 row 의 orderId 와 long 비교만으로 한번에 조립하며,
+ * 주문마다 OrderQueryDto 를 한번만 생성하고 SQL 순서를 그대로 유지한다.
+ */
+public final class OrderFlatAssembler {
+
+    private OrderFlatAssembler() {
+    }
+
+    public static List<OrderQueryDto> assemble(List<OrderFlatDto> flats) {
+        List<OrderQueryDto> result = new ArrayList<>();
+
+        OrderQueryDto current = null;
+        long currentOrderId = 0;
+
+        for (OrderFlatDto flat : flats) {
+            long orderId = flat.getOrderId();
+
+            if (current == null || orderId != currentOrderId) {
+                current = new OrderQueryDto(orderId, flat.getName(), flat.getOrderDate(), flat.getOrderStatus(), flat.getAddress(), flat.getTotalPrice(), new ArrayList<>());
+                currentOrderId = orderId;
+                result.add(current);
+            }
+
+            current.getOrderItems().add(new OrderItemQueryDto(current.getOrderId(), flat.getItemName(), flat.getOrderPrice(), flat.getCount()));
+        }
+        return result;
+    }
+}
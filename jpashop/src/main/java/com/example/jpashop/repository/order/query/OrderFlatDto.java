@@ -14,17 +14,19 @@ public class OrderFlatDto {
     private LocalDateTime orderDate; //주문시간
     private Address address;
     private OrderStatus orderStatus;
+    private int totalPrice; //주문 금액
 
     private String itemName;//상품 명
     private int orderPrice; //주문 가격
     private int count; //주문 수량
 
-    public OrderFlatDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, String itemName, int orderPrice, int count) {
+    public OrderFlatDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address, int totalPrice, String itemName, int orderPrice, int count) {
         this.orderId = orderId;
         this.name = name;
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.totalPrice = totalPrice;
         this.itemName = itemName;
         this.orderPrice = orderPrice;
         this.count = count;
@@ -15,6 +15,7 @@ public class OrderQueryDto {
     private LocalDateTime orderDate;
     private OrderStatus orderStatus;
     private Address address;
+    private int totalPrice;
     private List<OrderItemQueryDto> orderItems;
 
     public OrderQueryDto(
@@ -22,13 +23,15 @@ public class OrderQueryDto {
             String name,
             LocalDateTime orderDate,
             OrderStatus orderStatus,
-            Address address
+            Address address,
+            int totalPrice
     ) {
         this.orderId = orderId;
         this.name = name;
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.totalPrice = totalPrice;
     }
 
     public OrderQueryDto(
@@ -37,6 +40,7 @@ public class OrderQueryDto {
             LocalDateTime orderDate,
             OrderStatus orderStatus,
             Address address,
+            int totalPrice,
             List<OrderItemQueryDto> orderItems
     ) {
         this.orderId = orderId;
@@ -44,6 +48,7 @@ public class OrderQueryDto {
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.totalPrice = totalPrice;
         this.orderItems = orderItems;
     }
 }
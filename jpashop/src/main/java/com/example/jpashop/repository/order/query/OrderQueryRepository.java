@@ -1,5 +1,6 @@
 package com.example.jpashop.repository.order.query;
 
+import com.example.jpashop.repository.support.ChunkedInLoader;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -13,21 +14,20 @@ import java.util.stream.Collectors;
 public class OrderQueryRepository {
 
     private final EntityManager em;
+    private final ChunkedInLoader chunkedInLoader;
 
     /**
      * 컬렉션은 별도로 조회
-     * Query: 루트 1번, 컬렉션 N 번 (N + 1)
-     * 단건 조회에서 많이 사용하는 방식
+     * Query: 루트 1번, 컬렉션 (주문 수 / in-batch-size) 번
+     * 주문마다 findOrderItems 를 호출하던 N + 1 대신 ChunkedInLoader 로 나누어 조회한다.
      */
     public List<OrderQueryDto> findOrderQueryDtos() {
         // 루트 조회(toOne 코드를 모두 한번에 조회)
         List<OrderQueryDto> result = findOrders();
 
-        // 루프를 돌면서 컬렉션 추가(추가 쿼리 실행)
-        result.forEach(o -> {
-            List<OrderItemQueryDto> orderItems = findOrderItems(o.getOrderId());
-            o.setOrderItems(orderItems);
-        });
+        // 컬렉션을 in 절로 나누어 조회 후 주문에 추가
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
+        result.forEach(o -> o.setOrderItems(orderItemMap.getOrDefault(o.getOrderId(), List.of())));
         return result;
     }
 
@@ -36,7 +36,7 @@ public class OrderQueryRepository {
      */
     private List<OrderQueryDto> findOrders() {
         return em.createQuery(
-                "select new com.example.jpashop.repository.order.query.OrderQueryDto(o.id, m.name, o.orderDate, o.status, d.address) " +
+                "select new com.example.jpashop.repository.order.query.OrderQueryDto(o.id, m.name, o.orderDate, o.status, d.address, o.totalPrice) " +
                         "from Order o " +
                         "join o.member m " +
                         "join o.delivery d", OrderQueryDto.class)
@@ -46,52 +46,53 @@ public class OrderQueryRepository {
     /**
      * 1:N 관계인 orderItems 조회
      */
-    private List<OrderItemQueryDto> findOrderItems(Long orderId) {
+    private List<OrderItemQueryDto> findOrderItems(List<Long> orderIds) {
         return em.createQuery(
                 "select new com.example.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count) " +
                         "from OrderItem oi " +
                         "join oi.item i " +
-                        "where oi.order.id = :orderId", OrderItemQueryDto.class)
-                .setParameter("orderId", orderId)
+                        "where oi.order.id in :orderIds", OrderItemQueryDto.class)
+                .setParameter("orderIds", orderIds)
                 .getResultList();
     }
 
     /**
      * 최적화
-     * Query: 루트 1번, 컬렉션 1번
+     * Query: 루트 1번, 컬렉션 (주문 수 / in-batch-size) 번
      * 데이터를 한꺼번에 처리할 때 많이 사용하는 방식
-     *
+     * in 절 파라미터가 무한정 늘어나지 않도록 ChunkedInLoader 로 나누어 조회한다.
      */
     public List<OrderQueryDto> findAllByDto_optimization() {
         List<OrderQueryDto> result = findOrders();
 
-        List<Long> orderIds = result.stream()
-                .map(o -> o.getOrderId())
-                .collect(Collectors.toList());
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
 
-        List<OrderItemQueryDto> orderItems = em.createQuery(
-                        "select new com.example.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count) " +
-                                "from OrderItem oi " +
-                                "join oi.item i " +
-                                "where oi.order.id in :orderIds", OrderItemQueryDto.class)
-                .setParameter("orderIds", orderIds)
-                .getResultList();
+        result.forEach(orderQueryDto -> orderQueryDto.setOrderItems(orderItemMap.getOrDefault(orderQueryDto.getOrderId(), List.of())));
+        return result;
+    }
 
-        Map<Long, List<OrderItemQueryDto>> orderItemMap = orderItems.stream()
-                .collect(Collectors.groupingBy(orderItemQueryDto -> orderItemQueryDto.getOrderId()));
+    private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
+        return chunkedInLoader.load(orderIds, this::findOrderItems, OrderItemQueryDto::getOrderId);
+    }
 
-        result.forEach(orderQueryDto -> orderQueryDto.setOrderItems(orderItemMap.get(orderQueryDto.getOrderId())));
-        return result;
+    private List<Long> toOrderIds(List<OrderQueryDto> result) {
+        return result.stream()
+                .map(o -> o.getOrderId())
+                .collect(Collectors.toList());
     }
 
+    /**
+     * OrderFlatAssembler 가 한번에 조립할 수 있도록 주문 id 순으로 정렬한다.
+     */
     public List<OrderFlatDto> findAllByDto_flat() {
         return em.createQuery(
-                "select new com.example.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count) " +
+                "select new com.example.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, o.totalPrice, i.name, oi.orderPrice, oi.count) " +
                         "from Order o " +
                         "join o.member m " +
                         "join o.delivery d " +
                         "join o.orderItems oi " +
-                        "join oi.item i", OrderFlatDto.class)
+                        "join oi.item i " +
+                        "order by o.id", OrderFlatDto.class)
                 .getResultList();
     }
 }
@@ -15,18 +15,21 @@ public class OrderSimpleQueryDto {
     private LocalDateTime orderDate;
     private OrderStatus orderStatus;
     private Address address;
+    private int totalPrice;
 
     public OrderSimpleQueryDto(
             Long orderId,
             String name,
             LocalDateTime orderDate,
             OrderStatus orderStatus,
-            Address address
+            Address address,
+            int totalPrice
     ) {
         this.orderId = orderId;
         this.name = name; // LAZY 초기화
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address; // LAZY 초기화
+        this.totalPrice = totalPrice;
     }
 }
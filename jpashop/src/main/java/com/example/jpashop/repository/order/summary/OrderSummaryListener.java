@@ -0,0 +1,102 @@
+package com.example.jpashop.repository.order.summary;
+
+import com.example.jpashop.domain.Delivery;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Order / OrderItem / Member / Delivery 변경을 트랜잭션 단위로 모아서 커밋 직전(flush 이후)에 order_summary 를 한번에 갱신한다.
+ * 같은 트랜잭션에서 반영하므로 롤백되면 요약도 함께 롤백된다.
+ * 주문 생성 시 주문상품마다 갱신하지 않고 변경된 주문 id 로 merge 1번만 실행한다.
+ * Hibernate 이벤트 리스너로 등록한다. (EntityListenerConfig)
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    // 리스너는 EntityManagerFactory 생성 중에 만들어지므로 지연 조회
+    private final ObjectProvider<OrderSummaryRepository> orderSummaryRepository;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // 새 회원은 아직 주문이 없고, 새 배송은 주문과 함께 insert 된다.
+        if (!(event.getEntity() instanceof Member) && !(event.getEntity() instanceof Delivery)) {
+            updated(event.getEntity(), event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        updated(event.getEntity(), event.getSession());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Order order) {
+            changes(event.getSession()).removedOrderIds.add(order.getId());
+        } else {
+            updated(event.getEntity(), event.getSession());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void updated(Object entity, EventSource session) {
+        if (entity instanceof Order order) {
+            changes(session).orderIds.add(order.getId());
+        } else if (entity instanceof OrderItem orderItem && orderItem.getOrder() != null) {
+            changes(session).orderIds.add(orderItem.getOrder().getId());
+        } else if (entity instanceof Member member) {
+            changes(session).memberIds.add(member.getId());
+        } else if (entity instanceof Delivery delivery) {
+            changes(session).deliveryIds.add(delivery.getId());
+        }
+    }
+
+    /**
+     * 트랜잭션에서 처음 변경이 생기면 변경 목록을 바인딩하고 세션에 커밋 전 / 완료 후 처리를 등록한다.
+     */
+    private Changes changes(EventSource session) {
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes != null) {
+            return changes;
+        }
+
+        Changes created = new Changes();
+        TransactionSynchronizationManager.bindResource(this, created);
+
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s ->
+                orderSummaryRepository.getObject().refresh(created.orderIds, created.memberIds, created.deliveryIds, created.removedOrderIds));
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) ->
+                TransactionSynchronizationManager.unbindResourceIfPossible(this));
+        return created;
+    }
+
+    private static class Changes {
+        final Set<Long> orderIds = new HashSet<>();
+        final Set<Long> memberIds = new HashSet<>();
+        final Set<Long> deliveryIds = new HashSet<>();
+        final Set<Long> removedOrderIds = new HashSet<>();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.jpashop.repository.order.summary;
+
+import com.example.jpashop.domain.OrderSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class OrderSummaryRepository {
+
+    /**
+     * 원본 테이블에서 주문별 요약을 다시 계산해서 order_summary 에 merge (H2 MERGE ... KEY)
+     */
+    private static final String MERGE_SUMMARY =
+            "merge into order_summary (order_id, member_id, member_name, city, street, zipcode, status, order_date, total_price, item_count) " +
+                    "key (order_id) " +
+                    "select o.order_id, m.member_id, m.name, d.city, d.street, d.zipcode, o.status, o.order_date, " +
+                    "o.total_price, count(oi.order_item_id) " +
+                    "from orders o " +
+                    "join member m on m.member_id = o.member_id " +
+                    "left join delivery d on d.delivery_id = o.delivery_id " +
+                    "left join order_item oi on oi.order_id = o.order_id ";
+
+    private static final String GROUP_BY =
+            " group by o.order_id, m.member_id, m.name, d.city, d.street, d.zipcode, o.status, o.order_date, o.total_price";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 주문 번호 역순 keyset 페이징, order_summary 의 PK 인덱스만 읽는다.
+     */
+    public List<OrderSummary> findPage(Long cursor, int limit) {
+        TypedQuery<OrderSummary> query = cursor == null
+                ? em.createQuery("select s from OrderSummary s order by s.orderId desc", OrderSummary.class)
+                : em.createQuery("select s from OrderSummary s where s.orderId < :cursor order by s.orderId desc", OrderSummary.class)
+                        .setParameter("cursor", cursor);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * 변경된 주문 / 이름이 바뀐 회원 / 주소가 바뀐 배송의 주문 요약을 다시 계산하고 삭제된 주문의 요약을 지운다.
+     * 호출한 트랜잭션의 커넥션을 그대로 사용한다.
+     */
+    public void refresh(Collection<Long> orderIds, Collection<Long> memberIds, Collection<Long> deliveryIds,
+                        Collection<Long> removedOrderIds) {
+        if (!orderIds.isEmpty()) {
+            jdbcTemplate.update(MERGE_SUMMARY + "where o.order_id in (" + placeholders(orderIds) + ")" + GROUP_BY,
+                    orderIds.toArray());
+        }
+        if (!memberIds.isEmpty()) {
+            jdbcTemplate.update(MERGE_SUMMARY + "where o.member_id in (" + placeholders(memberIds) + ")" + GROUP_BY,
+                    memberIds.toArray());
+        }
+        if (!deliveryIds.isEmpty()) {
+            jdbcTemplate.update(MERGE_SUMMARY + "where o.delivery_id in (" + placeholders(deliveryIds) + ")" + GROUP_BY,
+                    deliveryIds.toArray());
+        }
+        if (!removedOrderIds.isEmpty()) {
+            jdbcTemplate.update("delete from order_summary where order_id in (" + placeholders(removedOrderIds) + ")",
+                    removedOrderIds.toArray());
+        }
+    }
+
+    /**
+     * 요약 테이블이 비어 있으면(처음 배포, ddl-auto 없이 테이블만 만든 경우) 전체 주문으로 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        Integer summaries = jdbcTemplate.queryForObject("select count(*) from order_summary", Integer.class);
+        if (summaries != null && summaries == 0) {
+            int rows = jdbcTemplate.update(MERGE_SUMMARY + GROUP_BY);
+            log.info("주문 요약 테이블 생성 orders={}", rows);
+        }
+    }
+
+    private static String placeholders(Collection<Long> ids) {
+        return String.join(", ", Collections.nCopies(ids.size(), "?"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.jpashop.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * id 목록을 batchSize 단위로 나누어 `in :ids` 쿼리를 실행하고 결과를 id 기준으로 묶어준다.
+ *
+ * - 한번에 보내는 in 파라미터 개수를 batchSize 로 제한한다.
+ * - 각 chunk 는 2의 거듭제곱(최대 batchSize) 크기로 마지막 id 를 반복해 채운다.
+ *   in 절 파라미터 개수 종류가 몇 개로 고정되므로 Hibernate 쿼리 플랜 캐시를 재사용한다.
+ * - executor 가 있으면 chunk 를 동시에 실행한다.
+ *   이때 query 는 다른 스레드에서 호출되므로 엔티티가 아닌 DTO 를 조회하는 쿼리에만 사용해야 한다.
+ * - parallelism 으로 생성하면 스레드 풀을 직접 만들고 close 할 때 종료한다.
+ *   Executor 를 빈으로 등록하면 Spring Boot 가 applicationTaskExecutor 를 만들지 않으므로 풀을 밖으로 노출하지 않는다.
+ */
+public class ChunkedInLoader implements AutoCloseable {
+
+    private final int batchSize;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    public ChunkedInLoader(int batchSize, Executor executor) {
+        this(batchSize, executor, null);
+    }
+
+    /**
+     * parallelism 이 1 이하이면 호출한 스레드에서 chunk 를 순서대로 실행한다.
+     * 큐가 가득 차면 호출한 스레드에서 실행해서 동시에 실행되는 쿼리 수를 제한한다.
+     */
+    public ChunkedInLoader(int batchSize, int parallelism) {
+        this(batchSize, parallelism > 1 ? newPool(parallelism) : null);
+    }
+
+    private ChunkedInLoader(int batchSize, ExecutorService ownedExecutor) {
+        this(batchSize, ownedExecutor, ownedExecutor);
+    }
+
+    private ChunkedInLoader(int batchSize, Executor executor, ExecutorService ownedExecutor) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize 는 1 이상이어야 합니다.");
+        }
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.ownedExecutor = ownedExecutor;
+    }
+
+    private static ExecutorService newPool(int parallelism) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "in-query-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    public <T> Map<Long, List<T>> load(List<Long> ids, Function<List<Long>, List<T>> query, Function<T, Long> keyMapper) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<List<Long>> chunks = chunk(ids);
+        Map<Long, List<T>> result = new HashMap<>((int) (ids.size() / 0.75f) + 1);
+
+        if (executor == null || chunks.size() == 1) {
+            chunks.forEach(chunk -> merge(result, query.apply(chunk), keyMapper));
+            return result;
+        }
+
+        List<CompletableFuture<List<T>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> query.apply(chunk), executor))
+                .toList();
+        futures.forEach(future -> merge(result, future.join(), keyMapper));
+        return result;
+    }
+
+    List<List<Long>> chunk(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>(ids.size() / batchSize + 1);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            chunks.add(pad(chunk));
+        }
+        return chunks;
+    }
+
+    private List<Long> pad(List<Long> chunk) {
+        int paddedSize = Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, batchSize);
+        if (chunk.size() == 1 || paddedSize <= chunk.size()) {
+            return new ArrayList<>(chunk);
+        }
+
+        List<Long> padded = new ArrayList<>(paddedSize);
+        padded.addAll(chunk);
+        Long last = chunk.get(chunk.size() - 1);
+        while (padded.size() < paddedSize) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    private <T> void merge(Map<Long, List<T>> result, List<T> rows, Function<T, Long> keyMapper) {
+        for (T row : rows) {
+            result.computeIfAbsent(keyMapper.apply(row), key -> new ArrayList<>()).add(row);
+        }
+    }
+}
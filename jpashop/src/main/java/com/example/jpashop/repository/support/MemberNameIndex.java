@@ -0,0 +1,125 @@
+package com.example.jpashop.repository.support;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 회원 이름 -> 회원 id 메모리 인덱스 (jpashop.query.member-name-index=true)
+ * 주문 검색의 m.name like :name 을 회원 id 목록으로 바꿔서 orders.member_id in (...) 으로 조회하게 한다.
+ * - 이름 그대로 일치("userA") 와 앞부분 일치("user%") 만 처리하고, 그 외 패턴은 like 쿼리를 그대로 사용한다.
+ * - Member 변경은 MemberNameIndexListener 가 커밋 후 반영한다. bulk update / 다른 서버의 변경은 알 수 없다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jpashop.query.member-name-index", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MemberNameIndex {
+
+    private static final String SELECT_ALL_NAMES = "select member_id, name from member";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 조회된 회원 수가 이보다 많으면 in 절 대신 like 쿼리를 사용한다.
+     */
+    @Value("${jpashop.query.member-name-index-max-ids:1000}")
+    private int maxIds;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> idsByName = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> nameById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * 시작 시 DB 의 회원 이름으로 인덱스를 채운다. 로딩 전에는 검색에 사용하지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        jdbcTemplate.query(SELECT_ALL_NAMES, rs -> {
+            put(rs.getLong(1), rs.getString(2));
+        });
+        loaded = true;
+        log.info("회원 이름 인덱스 로딩 members={}", nameById.size());
+    }
+
+    public void put(Long memberId, String name) {
+        String before = name == null ? nameById.remove(memberId) : nameById.put(memberId, name);
+        if (before != null && !before.equals(name)) {
+            removeId(before, memberId);
+        }
+        if (name != null) {
+            idsByName.computeIfAbsent(name, key -> ConcurrentHashMap.newKeySet()).add(memberId);
+        }
+    }
+
+    public void remove(Long memberId) {
+        String before = nameById.remove(memberId);
+        if (before != null) {
+            removeId(before, memberId);
+        }
+    }
+
+    /**
+     * like 패턴에 맞는 회원 id
+     * 인덱스로 처리할 수 없는 패턴이거나 결과가 maxIds 를 넘으면 empty 를 반환한다.
+     */
+    public Optional<Set<Long>> find(String pattern) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+
+        int wildcard = firstWildcard(pattern);
+        if (wildcard < 0) {
+            Set<Long> ids = idsByName.get(pattern);
+            return Optional.of(ids == null ? Set.of() : Set.copyOf(ids));
+        }
+        if (wildcard != pattern.length() - 1 || pattern.charAt(wildcard) != '%') {
+            return Optional.empty();
+        }
+
+        String prefix = pattern.substring(0, wildcard);
+        Set<Long> ids = new HashSet<>();
+        for (Map.Entry<String, Set<Long>> entry : idsByName.tailMap(prefix).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            ids.addAll(entry.getValue());
+            if (ids.size() > maxIds) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(ids);
+    }
+
+    private void removeId(String name, Long memberId) {
+        idsByName.computeIfPresent(name, (key, ids) -> {
+            ids.remove(memberId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * like 의 특수 문자(%, _, escape \) 위치
+     */
+    private static int firstWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
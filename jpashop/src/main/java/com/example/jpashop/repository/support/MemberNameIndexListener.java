@@ -0,0 +1,73 @@
+package com.example.jpashop.repository.support;
+
+import com.example.jpashop.domain.Member;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Member 의 저장 / 이름 변경 / 삭제를 MemberNameIndex 에 반영
+ * 롤백된 변경이 검색되지 않도록 커밋된 뒤에 반영한다.
+ * Hibernate 이벤트 리스너로 등록한다. (EntityListenerConfig)
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberNameIndexListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final ObjectProvider<MemberNameIndex> memberNameIndex;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            saved(member);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            saved(member);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            Long memberId = member.getId();
+            afterCommit(() -> memberNameIndex.ifAvailable(index -> index.remove(memberId)));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void saved(Member member) {
+        Long memberId = member.getId();
+        String name = member.getName();
+        afterCommit(() -> memberNameIndex.ifAvailable(index -> index.put(memberId, name)));
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
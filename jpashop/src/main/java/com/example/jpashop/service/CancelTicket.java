@@ -0,0 +1,47 @@
+package com.example.jpashop.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 비동기 주문 취소 요청 (OrderCancelQueue)
+ * 요청한 쪽은 ticketId 로 처리 상태를 조회한다.
+ */
+@Getter
+public class CancelTicket {
+
+    private final String ticketId = UUID.randomUUID().toString();
+    private final Long orderId;
+    private final LocalDateTime requestedAt = LocalDateTime.now();
+
+    private volatile CancelStatus status = CancelStatus.PENDING;
+    private volatile String message;
+    private volatile LocalDateTime completedAt;
+
+    CancelTicket(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    void complete() {
+        this.status = CancelStatus.CANCELED;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    void fail(String message) {
+        this.message = message;
+        this.status = CancelStatus.FAILED;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isDone() {
+        return status != CancelStatus.PENDING;
+    }
+
+    public enum CancelStatus {
+        PENDING,    // 대기
+        CANCELED,   // 취소 완료 (재고 복구 포함)
+        FAILED      // 취소 불가 (배송 완료, 이미 취소, 존재하지 않는 주문 등)
+    }
+}
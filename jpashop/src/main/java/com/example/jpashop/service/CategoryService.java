@@ -0,0 +1,88 @@
+package com.example.jpashop.service;
+
+import com.example.jpashop.domain.item.Category;
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.repository.CategoryRepository;
+import com.example.jpashop.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+
+    private volatile CategoryTree tree;
+    private long generation;    // invalidateTree 마다 증가, 만드는 중에 변경된 스냅샷은 저장하지 않는다.
+
+    /**
+     * 카테고리 생성, parentId 가 null 이면 최상위 카테고리
+     * @throws IllegalArgumentException 존재하지 않는 parentId
+     */
+    @Transactional
+    public Long saveCategory(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+        if (parentId != null) {
+            findCategory(parentId).addChildCategory(category);
+        }
+        categoryRepository.save(category);
+        return category.getId();
+    }
+
+    @Transactional
+    public void addItem(Long categoryId, Long itemId) {
+        Category category = findCategory(categoryId);
+        Item item = itemRepository.findOne(itemId);
+        if (item == null) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + itemId);
+        }
+        category.getItems().add(item);
+        item.getCategories().add(category);
+    }
+
+    private Category findCategory(Long categoryId) {
+        Category category = categoryRepository.findOne(categoryId);
+        if (category == null) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다. categoryId=" + categoryId);
+        }
+        return category;
+    }
+
+    /**
+     * 카테고리 트리 스냅샷, 변경이 커밋되면 다시 만든다. (CategoryTreeListener)
+     */
+    public CategoryTree tree() {
+        CategoryTree current = tree;
+        if (current != null) {
+            return current;
+        }
+
+        long loadingGeneration;
+        synchronized (this) {
+            loadingGeneration = generation;
+        }
+        current = CategoryTree.of(categoryRepository.findAllForTree());
+        synchronized (this) {
+            if (generation == loadingGeneration) {
+                tree = current;
+            }
+        }
+        return current;
+    }
+
+    public List<Item> findItemsInSubtree(Long categoryId) {
+        return categoryRepository.findItemsInSubtree(categoryId);
+    }
+
+    synchronized void invalidateTree() {
+        generation++;
+        tree = null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.jpashop.service;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 카테고리 트리의 불변 스냅샷
+ * 한번 만들어지면 변경되지 않으므로 여러 스레드에서 잠금 없이 읽는다. 카테고리가 바뀌면 새로 만든다.
+ */
+public final class CategoryTree {
+
+    private final List<Node> roots;
+    private final Map<Long, Node> nodes;
+
+    private CategoryTree(List<Node> roots, Map<Long, Node> nodes) {
+        this.roots = roots;
+        this.nodes = nodes;
+    }
+
+    /**
+     * @param rows (id, name, parentId), id 순서
+     */
+    static CategoryTree of(List<Object[]> rows) {
+        Map<Long, Node> nodes = new HashMap<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            nodes.put(id, new Node(id, (String) row[1], (Long) row[2]));
+        }
+
+        List<Node> roots = new ArrayList<>();
+        for (Object[] row : rows) {
+            Node node = nodes.get((Long) row[0]);
+            Node parent = node.parentId == null ? null : nodes.get(node.parentId);
+            if (parent == null) {
+                roots.add(node);
+            } else {
+                parent.children.add(node);
+            }
+        }
+        nodes.values().forEach(Node::freeze);
+        return new CategoryTree(Collections.unmodifiableList(roots), Collections.unmodifiableMap(nodes));
+    }
+
+    public List<Node> getRoots() {
+        return roots;
+    }
+
+    public Optional<Node> find(Long categoryId) {
+        return Optional.ofNullable(nodes.get(categoryId));
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    @Getter
+    public static final class Node {
+        private final Long id;
+        private final String name;
+        private final Long parentId;
+        private List<Node> children = new ArrayList<>();
+
+        private Node(Long id, String name, Long parentId) {
+            this.id = id;
+            this.name = name;
+            this.parentId = parentId;
+        }
+
+        private void freeze() {
+            children = Collections.unmodifiableList(children);
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.example.jpashop.service;
 import com.example.jpashop.domain.item.Book;
 import com.example.jpashop.domain.item.Item;
 import com.example.jpashop.repository.ItemRepository;
+import com.example.jpashop.repository.ItemSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
 
@@ -15,6 +18,7 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ObjectProvider<StockLedger> stockLedger;
 
     @Transactional
     public void saveItem(Item item) {
@@ -30,12 +34,30 @@ public class ItemService {
         findItem.setName(name);
         findItem.setPrice(price);
         findItem.setStockQuantity(stockQuantity);
+
+        // 메모리 재고 장부를 쓰는 경우 커밋 후 DB 기준으로 다시 맞춘다.
+        stockLedger.ifAvailable(ledger -> ledger.reconcileAfterCommit(itemId));
     }
 
     public List<Item> findItems() {
         return itemRepository.findAll();
     }
 
+    /**
+     * dtype 이 없거나 빈 값이면 전체 상품
+     * @throws IllegalArgumentException 지원하지 않는 dtype
+     */
+    public List<ItemSummary> findItemSummaries(String dtype) {
+        if (!StringUtils.hasText(dtype)) {
+            return itemRepository.findSummaries();
+        }
+        // repository 에서 던진 예외는 InvalidDataAccessApiUsageException 으로 바뀌므로 먼저 확인한다.
+        if (!ItemRepository.isSupportedType(dtype)) {
+            throw new IllegalArgumentException(ItemRepository.unsupportedType(dtype));
+        }
+        return itemRepository.findSummaries(dtype);
+    }
+
     public Item findOne(Long itemId) {
         return itemRepository.findOne(itemId);
     }
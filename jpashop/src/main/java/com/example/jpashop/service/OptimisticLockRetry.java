@@ -0,0 +1,54 @@
+package com.example.jpashop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * @Version 충돌(ObjectOptimisticLockingFailureException) 시 작업을 재시도
+ * 재시도마다 새 트랜잭션에서 엔티티를 다시 조회해야 하므로 트랜잭션 밖에서 서비스를 호출해야 한다.
+ * (이미 시작된 트랜잭션 안에서 호출하면 재시도 해도 같은 트랜잭션이므로 의미가 없다.)
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+
+    @Value("${jpashop.stock.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${jpashop.stock.retry-backoff-ms:10}")
+    private long retryBackoffMs;
+
+    public <T> T execute(String name, Supplier<T> task) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return task.get();
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("버전 충돌로 재시도 {}, attempt={}", name, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(String name, Runnable task) {
+        execute(name, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도 중 인터럽트 되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.jpashop.service;
+
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 비동기 주문 취소
+ * 요청 스레드는 취소 요청만 큐에 넣고 바로 반환한다. 주기적으로 쌓인 요청을 한 트랜잭션에서 처리하면서
+ * 재고 복구량을 상품별로 합쳐서 상품마다 update 1개, 전체를 JDBC batch 1번으로 반영한다.
+ * - 같은 상품에 대한 취소가 많아도 item row 는 flush 당 한번만 잠근다.
+ * - 큐는 메모리에만 있으므로 처리 전에 서버가 죽으면 요청은 유실된다. (종료 시에는 남은 요청을 처리한다.)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderCancelQueue {
+
+    private static final String RESTORE_STOCK =
+            "update item set stock_quantity = stock_quantity + ?, version = version + 1 where item_id = ?";
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory emf;
+    private final ObjectProvider<StockLedger> stockLedger;
+
+    @Value("${jpashop.stock.strategy:optimistic}")
+    private StockStrategy stockStrategy;
+
+    @Value("${jpashop.order.cancel.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${jpashop.order.cancel.ticket-ttl:10m}")
+    private Duration ticketTtl;
+
+    private final BlockingQueue<CancelTicket> queue = new LinkedBlockingQueue<>();
+    private final Map<String, CancelTicket> tickets = new ConcurrentHashMap<>();
+
+    public CancelTicket submit(Long orderId) {
+        CancelTicket ticket = new CancelTicket(orderId);
+        tickets.put(ticket.getTicketId(), ticket);
+        queue.add(ticket);
+        return ticket;
+    }
+
+    /**
+     * 처리가 끝난 요청은 ticket-ttl 이 지나면 조회되지 않는다.
+     */
+    public Optional<CancelTicket> find(String ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    /**
+     * 쌓인 취소 요청을 batch-size 만큼 처리
+     * 취소할 수 없는 주문은 해당 요청만 실패 처리한다.
+     * 트랜잭션이 실패하면(데드락, 낙관적 락 충돌 등) 요청마다 따로 다시 처리해서 문제가 된 요청만 실패 처리한다.
+     */
+    @Scheduled(fixedDelayString = "${jpashop.order.cancel.flush-interval-ms:200}")
+    public synchronized void flush() {
+        removeExpiredTickets();
+
+        List<CancelTicket> batch = new ArrayList<>();
+        queue.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            process(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("주문 취소 실패 orderId={}", batch.get(0).getOrderId(), e);
+                batch.get(0).fail("주문 취소 처리 중 오류가 발생했습니다");
+                return;
+            }
+            log.warn("주문 취소 batch 실패, 요청별로 다시 처리합니다. requests={}", batch.size(), e);
+            for (CancelTicket ticket : batch) {
+                try {
+                    process(List.of(ticket));
+                } catch (RuntimeException single) {
+                    log.warn("주문 취소 실패 orderId={}", ticket.getOrderId(), single);
+                    ticket.fail("주문 취소 처리 중 오류가 발생했습니다");
+                }
+            }
+        }
+    }
+
+    /**
+     * 한 트랜잭션에서 취소하고, 커밋된 뒤에만 요청의 처리 결과를 반영한다.
+     * 롤백되면 요청은 대기 상태 그대로 남는다.
+     */
+    private void process(List<CancelTicket> batch) {
+        Map<CancelTicket, String> failures = new HashMap<>();
+        Map<Long, Integer> restored = transactionTemplate.execute(status -> cancel(batch, failures));
+
+        // JDBC update 는 2차 캐시를 갱신하지 않는다.
+        restored.keySet().forEach(itemId -> emf.getCache().evict(Item.class, itemId));
+        for (CancelTicket ticket : batch) {
+            String failure = failures.get(ticket);
+            if (failure != null) {
+                ticket.fail(failure);
+            } else {
+                ticket.complete();
+            }
+        }
+    }
+
+    private Map<Long, Integer> cancel(List<CancelTicket> batch, Map<CancelTicket, String> failures) {
+        List<Long> orderIds = batch.stream().map(CancelTicket::getOrderId).distinct().toList();
+        Map<Long, Order> orders = orderRepository.findAllWithOrderItems(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        // 상품 id 순서로 update 해서 다른 트랜잭션과 잠금 순서를 맞춘다.
+        Map<Long, Integer> restock = new TreeMap<>();
+        for (CancelTicket ticket : batch) {
+            Order order = orders.get(ticket.getOrderId());
+            if (order == null) {
+                failures.put(ticket, "존재하지 않는 주문입니다");
+                continue;
+            }
+            try {
+                order.markCanceled();
+            } catch (IllegalStateException e) {
+                failures.put(ticket, e.getMessage());
+                continue;
+            }
+            for (OrderItem orderItem : order.getOrderItems()) {
+                restock.merge(orderItem.getItem().getId(), orderItem.getCount(), Integer::sum);
+            }
+        }
+        if (restock.isEmpty()) {
+            return restock;
+        }
+
+        jdbcTemplate.batchUpdate(RESTORE_STOCK, restock.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList());
+
+        // 취소로 늘어난 재고를 메모리 장부에도 반영 (커밋 후)
+        if (stockStrategy == StockStrategy.LEDGER) {
+            restock.forEach((itemId, quantity) -> stockLedger.getObject().restore(itemId, quantity));
+        }
+        return restock;
+    }
+
+    private void removeExpiredTickets() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(ticketTtl);
+        tickets.values().removeIf(ticket -> ticket.isDone() && ticket.getCompletedAt().isBefore(expiredBefore));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        while (!queue.isEmpty()) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.jpashop.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 재고 / 주문 충돌(@Version) 시 주문, 주문 취소를 재시도
+ * 재시도마다 새 트랜잭션에서 Item / Order 를 다시 조회해야 하므로 트랜잭션 밖에서 OrderService 를 호출한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderFacade {
+
+    private final OrderService orderService;
+    private final OptimisticLockRetry retry;
+
+    public Long order(Long memberId, Long itemId, int count) {
+        return retry.execute("order itemId=" + itemId, () -> orderService.order(memberId, itemId, count));
+    }
+
+    /**
+     * 대량 주문은 전체가 하나의 트랜잭션이므로 충돌하면 전체를 다시 실행한다.
+     */
+    public List<Long> placeOrders(List<OrderRequest> requests) {
+        return retry.execute("placeOrders size=" + requests.size(), () -> orderService.placeOrders(requests));
+    }
+
+    /**
+     * 비동기 취소(OrderCancelQueue)와 동시에 같은 주문을 취소하면 Order 의 version 이 충돌한다.
+     * 재시도하면 이미 취소된 주문으로 처리된다.
+     */
+    public void cancelOrder(Long orderId) {
+        retry.run("cancelOrder orderId=" + orderId, () -> orderService.cancelOrder(orderId));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.jpashop.service;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 주문(OrderService.placeOrders) 한 건
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRequest {
+
+    @NotNull
+    private Long memberId;
+
+    @NotNull
+    private Long itemId;
+
+    @Positive
+    private int count;
+}
@@ -5,15 +5,25 @@ import com.example.jpashop.domain.Member;
 import com.example.jpashop.domain.Order;
 import com.example.jpashop.domain.OrderItem;
 import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.exception.NotEnoughStockException;
 import com.example.jpashop.repository.ItemRepository;
 import com.example.jpashop.repository.MemberRepositoryOld;
 import com.example.jpashop.repository.OrderRepository;
 import com.example.jpashop.repository.OrderSearch;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -23,6 +33,14 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final MemberRepositoryOld memberRepository;
     private final ItemRepository itemRepository;
+    private final ObjectProvider<StockLedger> stockLedger;
+    private final EntityManager em;
+
+    @Value("${jpashop.stock.strategy:optimistic}")
+    private StockStrategy stockStrategy;
+
+    @Value("${jpashop.order.bulk-chunk-size:500}")
+    private int bulkChunkSize;
 
     /**
      * 주문 조회
@@ -38,7 +56,7 @@ public class OrderService {
         delivery.setAddress(member.getAddress());
 
         // 주문 상품 생성
-        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
+        OrderItem orderItem = createOrderItem(item, count);
 
         // 주문 생성
         Order order = Order.createOrder(member, delivery, orderItem);
@@ -49,6 +67,73 @@ public class OrderService {
         return order.getId();
     }
 
+    /**
+     * 대량 주문
+     * chunk 마다 회원 / 상품을 in 쿼리 한번씩으로 조회하고, 저장한 주문은 flush 후 영속성 컨텍스트를 비운다.
+     * insert 는 hibernate.jdbc.batch_size 단위로 묶여서 나가고 id 는 시퀀스를 allocationSize 만큼 한번에 할당 받는다.
+     * 전체가 하나의 트랜잭션이므로 한 건이라도 실패하면 모두 롤백된다.
+     */
+    @Transactional
+    public List<Long> placeOrders(List<OrderRequest> requests) {
+        List<Long> orderIds = new ArrayList<>(requests.size());
+
+        for (int from = 0; from < requests.size(); from += bulkChunkSize) {
+            List<OrderRequest> chunk = requests.subList(from, Math.min(from + bulkChunkSize, requests.size()));
+
+            Set<Long> memberIds = new HashSet<>();
+            Set<Long> itemIds = new HashSet<>();
+            for (OrderRequest request : chunk) {
+                memberIds.add(request.getMemberId());
+                itemIds.add(request.getItemId());
+            }
+            Map<Long, Member> members = memberRepository.findAllById(memberIds).stream()
+                    .collect(Collectors.toMap(Member::getId, Function.identity()));
+            Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+            List<Order> orders = new ArrayList<>(chunk.size());
+            for (OrderRequest request : chunk) {
+                Member member = members.get(request.getMemberId());
+                Item item = items.get(request.getItemId());
+                if (member == null || item == null) {
+                    throw new IllegalArgumentException("존재하지 않는 회원 또는 상품입니다. " + request);
+                }
+
+                Delivery delivery = new Delivery();
+                delivery.setAddress(member.getAddress());
+
+                Order order = Order.createOrder(member, delivery, createOrderItem(item, request.getCount()));
+                orderRepository.save(order);
+                orders.add(order);
+            }
+
+            em.flush();
+            for (Order order : orders) {
+                orderIds.add(order.getId());
+            }
+            em.clear();
+        }
+
+        return orderIds;
+    }
+
+    /**
+     * 재고 차감 방식(jpashop.stock.strategy)에 따라 주문 상품 생성
+     */
+    private OrderItem createOrderItem(Item item, int count) {
+        if (stockStrategy == StockStrategy.ATOMIC) {
+            if (itemRepository.decreaseStock(item.getId(), count) == 0) {
+                throw new NotEnoughStockException("need more stock");
+            }
+            return OrderItem.createReservedOrderItem(item, item.getPrice(), count);
+        }
+        if (stockStrategy == StockStrategy.LEDGER) {
+            stockLedger.getObject().reserve(item.getId(), count);
+            return OrderItem.createReservedOrderItem(item, item.getPrice(), count);
+        }
+        return OrderItem.createOrderItem(item, item.getPrice(), count);
+    }
+
     /**
      * 주문 취소
      */
@@ -59,14 +144,21 @@ public class OrderService {
 
         // 주문 취소
         order.cancel();
+
+        // 취소로 늘어난 재고를 메모리 장부에도 반영
+        if (stockStrategy == StockStrategy.LEDGER) {
+            for (OrderItem orderItem : order.getOrderItems()) {
+                stockLedger.getObject().restore(orderItem.getItem().getId(), orderItem.getCount());
+            }
+        }
     }
 
     /**
      * 주문 검색
      */
     public List<Order> findOrders(OrderSearch orderSearch) {
-//        return orderRepository.findAll(orderSearch);
-        return orderRepository.findAllByQueryDsl(orderSearch);  // QueryDSL 버전
+        return orderRepository.findAll(orderSearch);  // 회원 이름은 MemberNameIndex 로 조회
+//        return orderRepository.findAllByQueryDsl(orderSearch);  // QueryDSL 버전
     }
 
 }
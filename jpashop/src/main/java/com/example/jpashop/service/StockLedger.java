@@ -0,0 +1,261 @@
+package com.example.jpashop.service;
+
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.exception.NotEnoughStockException;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 메모리 재고 장부 (jpashop.stock.strategy=ledger)
+ * 주문 스레드에서는 메모리의 재고만 차감하고, 커밋된 변경량을 모아 주기적으로 item 테이블에 한번에 반영한다.
+ * - 반영 전에 서버가 죽으면 반영되지 않은 변경량은 유실된다. (종료 시에는 flush 한다.)
+ * - 단일 인스턴스 기준이다. 여러 서버가 같은 DB 를 쓰면 서로의 재고를 알 수 없다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jpashop.stock.strategy", havingValue = "ledger")
+@RequiredArgsConstructor
+public class StockLedger {
+
+    private static final String SELECT_STOCK = "select stock_quantity from item where item_id = ?";
+    private static final String SELECT_ALL_STOCK = "select item_id, stock_quantity from item";
+    private static final String APPLY_DELTA =
+            "update item set stock_quantity = stock_quantity + ?, version = version + 1 where item_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory emf;
+
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+
+    /**
+     * 상품별 재고 칸
+     * available: 주문 가능한 재고, 음수가 되지 않는다.
+     * pending: 커밋됐지만 아직 DB 에 반영되지 않은 변경량
+     * reserved: 차감했지만 아직 트랜잭션이 끝나지 않은 수량
+     * 보정(reconcile)은 세 값을 함께 읽어야 하므로 칸 단위 락 하나로 묶는다. (락은 상품별이라 서로 다른 상품끼리는 경합하지 않는다.)
+     */
+    static class Cell {
+        private long available;
+        private long pending;
+        private long reserved;
+
+        Cell(long available) {
+            this.available = available;
+        }
+
+        synchronized void reserve(int quantity) {
+            if (available < quantity) {
+                throw new NotEnoughStockException("need more stock");
+            }
+            available -= quantity;
+            reserved += quantity;
+        }
+
+        synchronized void complete(int quantity, boolean committed) {
+            reserved -= quantity;
+            if (committed) {
+                pending -= quantity;
+            } else {
+                available += quantity;
+            }
+        }
+
+        synchronized void restore(int quantity) {
+            available += quantity;
+        }
+
+        synchronized long available() {
+            return available;
+        }
+
+        synchronized long pending() {
+            return pending;
+        }
+
+        synchronized void flushed(long delta) {
+            pending -= delta;
+        }
+
+        /**
+         * @return 보정 전 재고
+         */
+        synchronized long reconcile(long dbStock) {
+            long before = available;
+            available = dbStock + pending - reserved;
+            return before;
+        }
+    }
+
+    /**
+     * 재고 차감
+     * 트랜잭션이 커밋되면 변경량을 반영 대기에 넣고, 롤백되면 차감한 재고를 되돌린다.
+     */
+    public void reserve(Long itemId, int quantity) {
+        Cell cell = cell(itemId);
+        cell.reserve(quantity);
+        afterCompletion(committed -> cell.complete(quantity, committed));
+    }
+
+    /**
+     * 주문 취소로 DB 재고가 이미 늘어난 경우, 커밋 후 메모리 재고만 늘린다.
+     */
+    public void restore(Long itemId, int quantity) {
+        afterCompletion(committed -> {
+            if (committed) {
+                cell(itemId).restore(quantity);
+            }
+        });
+    }
+
+    public long available(Long itemId) {
+        return cell(itemId).available();
+    }
+
+    /**
+     * 반영 대기 중인 변경량을 batch update 로 한번에 반영
+     * 반영한 만큼만 pending 에서 빼므로 반영 중에 들어온 변경량은 다음 flush 로 넘어간다.
+     * 실패하면 변경량은 그대로 두고 DB 기준으로 재고를 다시 맞춘다.
+     */
+    @Scheduled(fixedDelayString = "${jpashop.stock.ledger.flush-interval-ms:200}")
+    public synchronized void flush() {
+        List<Long> itemIds = new ArrayList<>();
+        List<Object[]> deltas = new ArrayList<>();
+        cells.forEach((itemId, cell) -> {
+            long delta = cell.pending();
+            if (delta != 0) {
+                itemIds.add(itemId);
+                deltas.add(new Object[]{delta, itemId});
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        int[] updated;
+        try {
+            updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(APPLY_DELTA, deltas));
+        } catch (RuntimeException e) {
+            log.warn("재고 반영 실패, DB 기준으로 재고를 다시 맞춥니다. items={}", itemIds.size(), e);
+            reconcile();
+            return;
+        }
+
+        for (int i = 0; i < itemIds.size(); i++) {
+            Long itemId = itemIds.get(i);
+            long delta = (long) deltas.get(i)[0];
+            if (updated[i] == 0) {
+                // 상품이 삭제된 경우
+                log.warn("재고를 반영할 상품이 없습니다. itemId={}, delta={}", itemId, delta);
+                cells.remove(itemId);
+                continue;
+            }
+            Cell cell = cells.get(itemId);
+            if (cell != null) {
+                cell.flushed(delta);
+            }
+            // bulk update 는 2차 캐시를 갱신하지 않는다.
+            emf.getCache().evict(Item.class, itemId);
+        }
+    }
+
+    /**
+     * 시작 시 DB 의 재고로 장부를 채운다.
+     * 그 전에 주문으로 먼저 만들어진 칸은 반영 대기 변경량을 갖고 있으므로 덮어쓰지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        jdbcTemplate.query(SELECT_ALL_STOCK,
+                rs -> {
+                    cells.putIfAbsent(rs.getLong(1), new Cell(rs.getLong(2)));
+                });
+        log.info("재고 장부 로딩 items={}", cells.size());
+    }
+
+    /**
+     * DB 재고 + 반영 대기 변경량 - 진행 중인 차감 수량으로 메모리 재고를 다시 맞춘다.
+     * 관리자가 재고를 직접 수정했거나 반영에 실패한 경우 사용한다.
+     * flush 와 같은 락을 잡아 DB 재고와 반영 대기 변경량이 어긋나지 않게 한다.
+     */
+    public synchronized void reconcile() {
+        cells.forEach((itemId, cell) -> reconcile(itemId, cell));
+    }
+
+    public synchronized void reconcile(Long itemId) {
+        Cell cell = cells.get(itemId);
+        if (cell != null) {
+            reconcile(itemId, cell);
+        }
+    }
+
+    /**
+     * 재고를 직접 수정한 트랜잭션이 커밋된 뒤 장부를 다시 맞춘다.
+     */
+    public void reconcileAfterCommit(Long itemId) {
+        afterCompletion(committed -> {
+            if (committed) {
+                reconcile(itemId);
+            }
+        });
+    }
+
+    private void reconcile(Long itemId, Cell cell) {
+        List<Long> stock = jdbcTemplate.queryForList(SELECT_STOCK, Long.class, itemId);
+        if (stock.isEmpty()) {
+            cells.remove(itemId);
+            return;
+        }
+        // DB 재고는 flush 와 같은 락 안에서 읽었으므로 pending 과 어긋나지 않는다.
+        long before = cell.reconcile(stock.get(0));
+        long after = cell.available();
+        if (before != after) {
+            log.info("재고 장부 보정 itemId={}, {} -> {}", itemId, before, after);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private Cell cell(Long itemId) {
+        Cell cell = cells.get(itemId);
+        if (cell != null) {
+            return cell;
+        }
+        List<Long> stock = jdbcTemplate.queryForList(SELECT_STOCK, Long.class, itemId);
+        if (stock.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + itemId);
+        }
+        return cells.computeIfAbsent(itemId, id -> new Cell(stock.get(0)));
+    }
+
+    private void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("재고 장부는 트랜잭션 안에서 사용해야 합니다.");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.jpashop.service;
+
+/**
+ * 주문 시 재고 차감 방식 (jpashop.stock.strategy)
+ */
+public enum StockStrategy {
+
+    /**
+     * 엔티티의 재고를 변경하고 @Version 으로 충돌을 감지, OrderFacade 가 재시도
+     */
+    OPTIMISTIC,
+
+    /**
+     * `stock_quantity >= :n` 조건의 update 한번으로 재고 차감
+     */
+    ATOMIC,
+
+    /**
+     * 메모리 장부(StockLedger)에서 차감하고 DB 에는 주기적으로 모아서 반영
+     */
+    LEDGER
+}
@@ -17,6 +17,7 @@ public class OrderDto {
     private LocalDateTime orderDate;
     private OrderStatus orderStatus;
     private Address address;
+    private int totalPrice;
     private List<OrderItemDto> orderItems;
 
     public OrderDto(Order order) {
@@ -25,6 +26,7 @@ public class OrderDto {
         orderDate = order.getOrderDate();
         orderStatus = order.getStatus();
         address = order.getDelivery().getAddress();
+        totalPrice = order.getTotalPrice();
         orderItems = order.getOrderItems().stream()
                 .map(orderItem -> new OrderItemDto(orderItem))
                 .collect(Collectors.toList());
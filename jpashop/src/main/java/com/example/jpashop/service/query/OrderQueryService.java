@@ -2,21 +2,63 @@ package com.example.jpashop.service.query;
 
 import com.example.jpashop.api.OrderApiController;
 import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.repository.OrderCursor;
 import com.example.jpashop.repository.OrderRepository;
+import com.example.jpashop.repository.OrderSearch;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollableResults;
 import org.springframework.data.domain.jaxb.SpringDataJaxb;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+/**
+ * 화면 / API 용 조회 전용 서비스
+ * 지연 로딩이 필요한 엔티티는 읽기 전용 트랜잭션 안에서 DTO 로 모두 변환해서 반환한다.
+ * OSIV 를 끄면(spring.jpa.open-in-view=false) 트랜잭션이 끝날 때 DB 커넥션을 반납하므로
+ * JSON 직렬화 / 화면 렌더링 중에는 커넥션을 잡고 있지 않는다.
+ */
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class OrderQueryService {
 
     private final OrderRepository orderRepository;
+    private final EntityManager em;
+
+    /**
+     * 엔티티 직접 노출 (orders V1, simple-orders V1)
+     * 반환 후에는 지연 로딩을 할 수 없으므로 응답에 필요한 연관관계를 모두 초기화해서 반환한다.
+     * (Hibernate5JakartaModule 은 Hibernate 6 컬렉션을 null 로 처리하지 못하므로 orderItems 도 초기화해야 한다.)
+     */
+    public List<Order> ordersV1() {
+        List<Order> all = orderRepository.findAll(new OrderSearch());
+
+        for (Order order : all) {
+            order.getMember().getName();
+            order.getDelivery().getAddress();
+            List<OrderItem> orderItems = order.getOrderItems();
+            orderItems.stream().forEach(orderItem -> orderItem.getItem().getName());
+        }
+
+        return all;
+    }
+
+    public List<SimpleOrderDto> simpleOrdersV2() {
+        return orderRepository.findAll(new OrderSearch()).stream()
+                .map(SimpleOrderDto::new)
+                .collect(Collectors.toList());
+    }
+
+    public List<OrderDto> ordersV2() {
+        return toDtos(orderRepository.findAll(new OrderSearch()));
+    }
 
     public List<OrderDto> orderV3() {
         List<Order> orders = orderRepository.findAllWithItem();
@@ -27,4 +69,61 @@ public class OrderQueryService {
 
         return result;
     }
+
+    public List<OrderDto> ordersV3_page(int offset, int limit) {
+        return toDtos(orderRepository.findAllWithMemberDelivery(offset, limit));
+    }
+
+    public List<OrderDto> ordersV3_cursor(OrderCursor cursor, int limit) {
+        return toDtos(orderRepository.findAllWithMemberDelivery(cursor, limit));
+    }
+
+    /**
+     * 주문 검색 화면 (order/orderList)
+     */
+    public List<OrderDto> findOrders(OrderSearch orderSearch) {
+        return toDtos(orderRepository.findAll(orderSearch));
+    }
+
+    private List<OrderDto> toDtos(List<Order> orders) {
+        return orders.stream()
+                .map(order -> new OrderDto(order))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 주문 전체를 chunkSize 단위로 나누어 consumer 에 전달
+     * chunk 단위로 DTO 를 만들어야 orderItems 가 default_batch_fetch_size 로 한번에 조회된다.
+     * chunk 를 넘길 때마다 영속성 컨텍스트를 비우므로 주문 수와 상관없이 메모리 사용량이 일정하다.
+     */
+    public void exportOrders(int chunkSize, Consumer<List<OrderDto>> consumer) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize 는 1 이상이어야 합니다.");
+        }
+        List<Order> chunk = new ArrayList<>(chunkSize);
+
+        try (ScrollableResults<Order> orders = orderRepository.scrollAllWithMemberDelivery(chunkSize)) {
+            while (orders.next()) {
+                chunk.add(orders.get());
+
+                if (chunk.size() == chunkSize) {
+                    flushChunk(chunk, consumer);
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            flushChunk(chunk, consumer);
+        }
+    }
+
+    private void flushChunk(List<Order> chunk, Consumer<List<OrderDto>> consumer) {
+        List<OrderDto> result = chunk.stream()
+                .map(order -> new OrderDto(order))
+                .collect(Collectors.toList());
+
+        consumer.accept(result);
+        chunk.clear();
+        em.clear();
+    }
 }
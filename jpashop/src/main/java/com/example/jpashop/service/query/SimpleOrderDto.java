@@ -0,0 +1,27 @@
+package com.example.jpashop.service.query;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SimpleOrderDto {
+    private Long orderId;
+    private String name;
+    private LocalDateTime orderDate;
+    private OrderStatus orderStatus;
+    private Address address;
+    private int totalPrice;
+
+    public SimpleOrderDto(Order order) {
+        orderId = order.getId();
+        name = order.getMember().getName(); // LAZY 초기화
+        orderDate = order.getOrderDate();
+        orderStatus = order.getStatus();
+        address = order.getDelivery().getAddress(); // LAZY 초기화
+        totalPrice = order.getTotalPrice();         // 주문상품을 읽지 않음
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.jpashop.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 카테고리 생성 API Test
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:category-api")
+@AutoConfigureMockMvc
+class CategoryApiControllerTest {
+
+    @Autowired MockMvc mockMvc;
+
+    @Test
+    void saveCategory() throws Exception {
+        mockMvc.perform(post("/api/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"음반\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").isNumber());
+    }
+
+    @Test
+    void unknownParent() throws Exception {
+        mockMvc.perform(post("/api/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"재즈\", \"parentId\": 999999}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.jpashop.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 주문 API 의 잘못된 요청 파라미터는 500 이 아니라 400 으로 응답하는지 Test
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-api-param")
+@AutoConfigureMockMvc
+class OrderApiParameterTest {
+
+    @Autowired MockMvc mockMvc;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/orders/stream?chunkSize=0", "/api/orders/stream?chunkSize=-1"})
+    void invalidChunkSize(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/orders/stream?chunkSize=1", "/api/orders/stream"})
+    void validChunkSize(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v3.2/orders?limit=0", "/api/v3.2/orders?limit=-1", "/api/v3.2/orders?limit=2147483647",
+            "/api/v3.2/orders?cursor=not-a-cursor", "/api/v3.2/orders?cursor=MjAyNA"
+    })
+    void invalidCursorPage(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v7/orders?limit=0", "/api/v7/orders?limit=-1", "/api/v7/orders?limit=2147483647",
+            "/api/v7/orders?cursor=abc"
+    })
+    void invalidSummaryPage(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cursorPage() throws Exception {
+        mockMvc.perform(get("/api/v3.2/orders?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    /**
+     * 엔티티(OrderSummary)가 아니라 DTO 로 응답한다.
+     */
+    @Test
+    void summaryPage() throws Exception {
+        mockMvc.perform(get("/api/v7/orders?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").isNotEmpty())
+                .andExpect(jsonPath("$.data[0].itemCount").isNumber())
+                .andExpect(jsonPath("$.data[0].memberId").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.jpashop.api;
+
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.repository.OrderRepository;
+import com.example.jpashop.repository.OrderSearch;
+import com.example.jpashop.service.ItemService;
+import com.example.jpashop.service.MemberService;
+import com.example.jpashop.service.OrderService;
+import com.example.jpashop.support.MaxQueries;
+import com.example.jpashop.support.QueryCounter;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 주문 목록 조건부 GET(ETag) Test
+ * 주문을 변경하므로 다른 테스트와 DB 를 분리한다.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-etag")
+@AutoConfigureMockMvc
+class OrderEtagTest {
+
+    @Autowired MockMvc mockMvc;
+
+    @Autowired OrderRepository orderRepository;
+
+    @Autowired OrderService orderService;
+
+    @Autowired MemberService memberService;
+
+    @Autowired ItemService itemService;
+
+    @Autowired TransactionTemplate transactionTemplate;
+
+    /**
+     * ETag 가 같으면 SQL 없이 304
+     */
+    @Test
+    @MaxQueries(0)
+    void notModified() throws Exception {
+        // given
+        String simpleEtag = etag("/api/v4/simple-orders");
+        String etag = etag("/api/v2/orders");
+        QueryCounter.reset();
+
+        // when
+        mockMvc.perform(get("/api/v4/simple-orders").header(HttpHeaders.IF_NONE_MATCH, simpleEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        QueryCounter.reset();
+        mockMvc.perform(get("/api/v2/orders").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // then
+        assertThat(simpleEtag).startsWith("\"");
+        assertThat(simpleEtag).isNotEqualTo(etag);
+    }
+
+    /**
+     * 주문 / 회원 / 상품이 바뀌면 응답에 포함되는 API 의 ETag 만 바뀐다.
+     */
+    @Test
+    void etagChangesWithPayload() throws Exception {
+        // given
+        Order order = transactionTemplate.execute(status -> orderRepository.findAll(new OrderSearch()).get(0));
+        Item item = transactionTemplate.execute(status ->
+                (Item) Hibernate.unproxy(orderRepository.findOne(order.getId()).getOrderItems().get(0).getItem()));
+
+        String simpleEtag = etag("/api/v4/simple-orders");
+        String etag = etag("/api/v2/orders");
+
+        // when 상품 이름 변경 -> V2 만 변경
+        itemService.updateItem(item.getId(), "바뀐 상품", item.getPrice(), item.getStockQuantity());
+
+        // then
+        assertThat(etag("/api/v4/simple-orders")).isEqualTo(simpleEtag);
+        assertThat(etag("/api/v2/orders")).isNotEqualTo(etag);
+
+        // when 회원 이름 변경
+        simpleEtag = etag("/api/v4/simple-orders");
+        memberService.update(order.getMember().getId(), "바뀐 회원");
+
+        // then
+        assertThat(etag("/api/v4/simple-orders")).isNotEqualTo(simpleEtag);
+
+        // when 주문 취소
+        simpleEtag = etag("/api/v4/simple-orders");
+        orderService.cancelOrder(order.getId());
+
+        // then
+        mockMvc.perform(get("/api/v4/simple-orders").header(HttpHeaders.IF_NONE_MATCH, simpleEtag))
+                .andExpect(status().isOk());
+        assertThat(etag("/api/v4/simple-orders")).isNotEqualTo(simpleEtag);
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.jpashop.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * OSIV 를 끈 상태(osiv-off profile)에서 지연 로딩을 사용하던 API / 화면이 동작하는지 Test
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:osiv-off")
+@ActiveProfiles("osiv-off")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class OsivOffTest {
+
+    @Autowired MockMvc mockMvc;
+
+    @Autowired MeterRegistry meterRegistry;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/orders", "/api/v2/orders", "/api/v3/orders", "/api/v3.1/orders", "/api/v3.2/orders",
+            "/api/v1/simple-orders", "/api/v2/simple-orders", "/orders"
+    })
+    void noLazyLoadingOutsideTransaction(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * 엔티티를 직접 노출하는 V1 도 응답에 필요한 연관관계는 트랜잭션 안에서 초기화된다.
+     */
+    @Test
+    void entitiesInitialized() throws Exception {
+        mockMvc.perform(get("/api/v1/orders"))
+                .andExpect(jsonPath("$[0].member.name").exists())
+                .andExpect(jsonPath("$[0].orderItems[0].item.name").exists());
+    }
+
+    /**
+     * 요청별 커넥션 점유 시간이 기록되는지 Test
+     */
+    @Test
+    void connectionHoldTime() throws Exception {
+        // when
+        mockMvc.perform(get("/api/v2/orders")).andExpect(status().isOk());
+
+        // then
+        assertThat(meterRegistry.get("jpashop.sql.connection.hold").tag("uri", "/api/v2/orders").timer().count())
+                .isPositive();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.jpashop.api.json;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Delivery;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.repository.order.query.OrderItemQueryDto;
+import com.example.jpashop.repository.order.query.OrderQueryDto;
+import com.example.jpashop.repository.order.query.OrderQueryRepository;
+import com.example.jpashop.service.query.OrderDto;
+import com.example.jpashop.service.query.OrderQueryService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderJsonModule 의 출력이 기본 bean 직렬화와 같은지 Test
+ */
+@SpringBootTest
+class OrderJsonModuleTest {
+
+    /**
+     * OrderJsonModule 이 없는 기본 직렬화 (Spring Boot 기본값과 같이 날짜는 ISO 문자열)
+     */
+    private static final ObjectMapper BEAN_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Autowired ObjectMapper objectMapper;
+
+    @Autowired OrderQueryService orderQueryService;
+
+    @Autowired OrderQueryRepository orderQueryRepository;
+
+    @Test
+    void sameAsBeanSerialization() throws Exception {
+        // given
+        List<OrderDto> v2 = orderQueryService.ordersV2();
+        List<OrderQueryDto> v4 = orderQueryRepository.findOrderQueryDtos();
+        List<OrderQueryDto> v5 = orderQueryRepository.findAllByDto_optimization();
+
+        // then
+        assertThat(objectMapper.getSerializerProviderInstance().findValueSerializer(OrderDto.class))
+                .isInstanceOf(OrderJsonModule.OrderDtoSerializer.class);
+        assertThat(v2).isNotEmpty();
+        assertSameJson(v2);
+        assertSameJson(v4);
+        assertSameJson(v5);
+    }
+
+    /**
+     * null, escape 가 필요한 문자, 0 으로 끝나는 나노초
+     */
+    @Test
+    void sameAsBeanSerializationForEdgeCases() throws Exception {
+        // given
+        Member member = new Member();
+        member.setName("\"따옴표\"\n\t\\ 😀");
+        Book book = new Book();
+        book.setName("</script>");
+        book.setPrice(1000);
+        book.setStockQuantity(10);
+        Delivery delivery = new Delivery();
+        Order order = Order.createOrder(member, delivery, OrderItem.createOrderItem(book, 1000, 2));
+        order.setOrderDate(LocalDateTime.of(2024, 1, 2, 3, 4, 0, 500_000_000));
+
+        OrderQueryDto empty = new OrderQueryDto(null, null, null, null, null, 0);
+        OrderQueryDto withItems = new OrderQueryDto(1L, "이름", LocalDateTime.of(2024, 1, 2, 3, 4),
+                OrderStatus.CANCEL, new Address(null, "street", ""), Integer.MAX_VALUE,
+                List.of(new OrderItemQueryDto(1L, null, -1, 0)));
+
+        // then
+        assertSameJson(List.of(new OrderDto(order)));
+        assertSameJson(List.of(empty, withItems));
+    }
+
+    /**
+     * 날짜를 직접 쓰는 부분이 DateTimeFormatter.ISO_LOCAL_DATE_TIME 과 같은지 Test
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-01-02T03:04", "2024-12-31T23:59:59", "0001-01-01T00:00:00.000000001",
+            "2024-01-02T03:04:05.1", "2024-01-02T03:04:05.000100", "2024-01-02T03:04:05.123456789",
+            "+10000-01-01T00:00", "-0001-01-01T00:00"
+    })
+    void writeDateTime(String text) throws Exception {
+        // given
+        LocalDateTime dateTime = LocalDateTime.parse(text);
+        StringWriter writer = new StringWriter();
+
+        // when
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(writer)) {
+            OrderJsonModule.writeDateTime(gen, dateTime);
+        }
+
+        // then
+        assertThat(writer.toString()).isEqualTo(BEAN_MAPPER.writeValueAsString(dateTime));
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertThat(objectMapper.writeValueAsString(value)).isEqualTo(BEAN_MAPPER.writeValueAsString(value));
+    }
+}
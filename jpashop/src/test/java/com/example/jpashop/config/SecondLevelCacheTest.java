@@ -0,0 +1,89 @@
+package com.example.jpashop.config;
+
+import com.example.jpashop.domain.CacheRegions;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.service.ItemService;
+import com.example.jpashop.service.MemberService;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired EntityManagerFactory emf;
+
+    @Autowired ItemService itemService;
+
+    @Autowired MemberService memberService;
+
+    @Autowired SecondLevelCacheProperties properties;
+
+    @Autowired CacheManager jpaCacheManager;
+
+    /**
+     * 이름에 '.' 이 있는 region 설정이 중첩 키로 쪼개지지 않고 적용되는지 Test
+     */
+    @Test
+    void dottedRegionProperties() {
+        // when
+        SecondLevelCacheProperties.Region region = properties.getRegions().get(CacheRegions.CATEGORY_CHILD);
+        @SuppressWarnings("unchecked") // getConfiguration 은 raw 타입 Class 만 받는다.
+        CaffeineConfiguration<?, ?> configuration = jpaCacheManager.getCache(CacheRegions.CATEGORY_CHILD)
+                .getConfiguration(CaffeineConfiguration.class);
+
+        // then
+        assertThat(properties.getRegions()).containsOnlyKeys(CacheRegions.CATEGORY_CHILD);
+        assertThat(region.getMaxSize()).isEqualTo(1000);
+        assertThat(configuration.getMaximumSize()).hasValue(1000);
+    }
+
+    /**
+     * 하위 타입(Book)도 Item region 에 캐시되는지 Test
+     */
+    @Test
+    void itemCache() {
+        // given
+        Book book = new Book();
+        book.setName("캐시 JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+
+        Cache cache = emf.getCache();
+        cache.evict(Item.class, book.getId());
+
+        // when
+        itemService.findOne(book.getId());
+
+        // then
+        assertThat(cache.contains(Item.class, book.getId())).isTrue();
+        assertThat(cache.contains(Book.class, book.getId())).isTrue();
+    }
+
+    @Test
+    void memberCache() {
+        // given
+        Member member = new Member();
+        member.setName("캐시 회원");
+        Long memberId = memberService.join(member);
+
+        Cache cache = emf.getCache();
+        cache.evict(Member.class, memberId);
+
+        // when
+        memberService.findOne(memberId);
+
+        // then
+        assertThat(cache.contains(Member.class, memberId)).isTrue();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.jpashop.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary / replica 를 각각 다른 H2 메모리 DB 로 띄우고 database() 이름으로 라우팅을 확인
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "jpashop.datasource.routing.enabled=true",
+        "jpashop.datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica-0",
+        "jpashop.datasource.routing.replicas[0].username=sa",
+        "jpashop.datasource.routing.replicas[1].url=jdbc:h2:mem:routing-replica-1",
+        "jpashop.datasource.routing.replicas[1].username=sa",
+        "jpashop.datasource.routing.read-your-writes-window=5s",
+        "spring.datasource.hikari.maximum-pool-size=7"
+})
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Autowired EntityManagerFactory emf;
+
+    @Autowired DataSource dataSource;
+
+    @Autowired FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilterRegistration;
+
+    ReadYourWritesFilter readYourWritesFilter;
+
+    @BeforeEach
+    void setUp() {
+        readYourWritesFilter = readYourWritesFilterRegistration.getFilter();
+    }
+
+    @Test
+    void readOnlyToReplicas() {
+        // when
+        Set<String> databases = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            databases.add(database(true));
+        }
+
+        // then
+        assertThat(databases).containsExactlyInAnyOrder("ROUTING-REPLICA-0", "ROUTING-REPLICA-1");
+        assertThat(database(false)).isEqualTo("ROUTING-PRIMARY");
+    }
+
+    /**
+     * 같은 요청 안에서 쓰기 후의 읽기는 primary, 응답에 쓰기 시각 쿠키를 남김
+     */
+    @Test
+    void readYourWritesInRequest() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] databases = new String[3];
+
+        // when
+        readYourWritesFilter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+            databases[0] = database(true);
+            databases[1] = database(false);
+            databases[2] = database(true);
+        });
+
+        // then
+        assertThat(databases[0]).startsWith("ROUTING-REPLICA");
+        assertThat(databases[1]).isEqualTo("ROUTING-PRIMARY");
+        assertThat(databases[2]).isEqualTo("ROUTING-PRIMARY");
+        assertThat(response.getCookie("jpashop-last-write")).isNotNull();
+    }
+
+    /**
+     * 이전 요청에서 받은 쿠키가 window 안이면 primary, 지났으면 replica
+     */
+    @Test
+    void readYourWritesCookie() throws Exception {
+        // given
+        MockHttpServletRequest recent = new MockHttpServletRequest();
+        recent.setCookies(new Cookie("jpashop-last-write", String.valueOf(System.currentTimeMillis())));
+        MockHttpServletRequest old = new MockHttpServletRequest();
+        old.setCookies(new Cookie("jpashop-last-write", String.valueOf(System.currentTimeMillis() - 10_000)));
+        String[] databases = new String[2];
+
+        // when
+        readYourWritesFilter.doFilter(recent, new MockHttpServletResponse(), (req, res) -> databases[0] = database(true));
+        readYourWritesFilter.doFilter(old, new MockHttpServletResponse(), (req, res) -> databases[1] = database(true));
+
+        // then
+        assertThat(databases[0]).isEqualTo("ROUTING-PRIMARY");
+        assertThat(databases[1]).startsWith("ROUTING-REPLICA");
+    }
+
+    /**
+     * OSIV 처럼 요청 동안 EntityManager 가 바인딩되어 있어도 트랜잭션마다 DB 를 다시 고른다.
+     * 읽기 전용 트랜잭션 -> replica, 쓰기 트랜잭션 -> primary, 트랜잭션 밖의 지연 로딩 -> primary
+     */
+    @Test
+    void routePerTransactionWithOpenEntityManagerInView() {
+        // given
+        EntityManager em = emf.createEntityManager();
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+        String read;
+        String write;
+        String outside;
+
+        // when
+        try {
+            read = database(true);
+            write = database(false);
+            outside = (String) em.createNativeQuery("select database()").getSingleResult();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(emf);
+            em.close();
+        }
+
+        // then
+        assertThat(read).startsWith("ROUTING-REPLICA");
+        assertThat(write).isEqualTo("ROUTING-PRIMARY");
+        assertThat(outside).isEqualTo("ROUTING-PRIMARY");
+    }
+
+    /**
+     * spring.datasource.hikari.* 가 primary pool 에 적용되는지 Test
+     */
+    @Test
+    void primaryHikariProperties() throws Exception {
+        // when
+        ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        HikariDataSource primary = (HikariDataSource) routing.getResolvedDefaultDataSource();
+
+        // then
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(primary.getPoolName()).isEqualTo("primary");
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.jpashop.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 상품 목록의 dtype 파라미터 Test
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:item-controller")
+@AutoConfigureMockMvc
+class ItemControllerTest {
+
+    @Autowired MockMvc mockMvc;
+
+    @Test
+    void allItems() throws Exception {
+        mockMvc.perform(get("/items"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "Book", "Album"})
+    void itemList(String dtype) throws Exception {
+        mockMvc.perform(get("/items").param("dtype", dtype))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"foo", "book"})
+    void unknownDtype(String dtype) throws Exception {
+        mockMvc.perform(get("/items").param("dtype", dtype))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.jpashop.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시작 시 데이터 생성 Test (initDb 의 회원 2, 상품 4, 주문 2 에 더해서 생성된다.)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dataset",
+        "jpashop.dataset.enabled=true",
+        "jpashop.dataset.members=50",
+        "jpashop.dataset.items=30",
+        "jpashop.dataset.orders=300",
+        "jpashop.dataset.item-skew=1.2",
+        "jpashop.dataset.chunk-size=100"
+})
+class DatasetGeneratorTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generateOnStartup() {
+        // then
+        assertThat(count("select count(*) from member")).isEqualTo(2 + 50);
+        assertThat(count("select count(*) from item")).isEqualTo(4 + 30);
+        assertThat(count("select count(*) from orders")).isEqualTo(2 + 300);
+        assertThat(count("select count(*) from order_summary")).isEqualTo(2 + 300);
+        assertThat(count("select count(*) from item where dtype = 'Album'")).isEqualTo(10);
+    }
+
+    /**
+     * 인기 상품에 주문이 몰리고, 재고는 주문 수량만큼 줄어든다.
+     */
+    @Test
+    void skewedItemPopularity() {
+        // when
+        List<Long> orderCounts = jdbcTemplate.queryForList(
+                "select count(*) from order_item oi join item i on i.item_id = oi.item_id" +
+                        " where i.name not like 'JPA%' and i.name not like 'SPRING%'" +
+                        " group by oi.item_id order by count(*) desc", Long.class);
+
+        // then
+        long total = orderCounts.stream().mapToLong(Long::longValue).sum();
+        assertThat(orderCounts.get(0)).isGreaterThan(3 * total / 30);
+
+        long ordered = count("select coalesce(sum(oi.count), 0) from order_item oi join item i on i.item_id = oi.item_id" +
+                " where i.name not like 'JPA%' and i.name not like 'SPRING%'");
+        long remaining = count("select sum(stock_quantity) from item" +
+                " where name not like 'JPA%' and name not like 'SPRING%'");
+        assertThat(ordered + remaining).isEqualTo(30L * (100 + 300 * 3));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
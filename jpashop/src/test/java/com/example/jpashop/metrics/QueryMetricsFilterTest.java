@@ -0,0 +1,93 @@
+package com.example.jpashop.metrics;
+
+import com.example.jpashop.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class QueryMetricsFilterTest {
+
+    @Autowired MockMvc mockMvc;
+
+    @Autowired MeterRegistry meterRegistry;
+
+    /**
+     * V2(N + 1) 와 V5(in 쿼리) 의 요청당 SQL 실행 횟수가 URL 패턴별로 기록되는지 Test
+     */
+    @Test
+    void recordPerHandler() throws Exception {
+        // when
+        mockMvc.perform(get("/api/v2/orders")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v5/orders")).andExpect(status().isOk());
+
+        // then
+        DistributionSummary v2 = statements("/api/v2/orders");
+        DistributionSummary v5 = statements("/api/v5/orders");
+        assertThat(v2.count()).isEqualTo(1);
+        assertThat(v5.count()).isEqualTo(1);
+        assertThat(v5.max()).isLessThanOrEqualTo(2);
+        assertThat(v2.max()).isGreaterThan(v5.max());
+        assertThat(meterRegistry.get("jpashop.sql.entity.loads").tag("uri", "/api/v2/orders").summary().max())
+                .isPositive();
+    }
+
+    /**
+     * @QueryBudget 을 초과하면 예외가 발생하는지 Test
+     */
+    @Test
+    void budgetExceeded() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryMetricsFilter filter = new QueryMetricsFilter(registry, true);
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("budgetOfOne"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/budget");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/budget");
+                req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+                QueryMetrics.current().statementExecuted(1);
+                QueryMetrics.current().statementExecuted(1);
+            }
+        });
+
+        // when
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain))
+                .isInstanceOf(QueryBudgetExceededException.class);
+
+        // then
+        assertThat(registry.get("jpashop.sql.budget.exceeded").counter().count()).isEqualTo(1);
+        assertThat(QueryMetrics.current()).isNull();
+    }
+
+    @QueryBudget(statements = 1)
+    void budgetOfOne() {
+    }
+
+    private DistributionSummary statements(String uri) {
+        return meterRegistry.get("jpashop.sql.statements").tag("uri", uri).summary();
+    }
+}
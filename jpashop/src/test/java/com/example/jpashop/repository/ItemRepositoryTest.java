@@ -0,0 +1,95 @@
+package com.example.jpashop.repository;
+
+import com.example.jpashop.domain.item.Album;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.support.MaxQueries;
+import com.example.jpashop.support.QueryCounter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class ItemRepositoryTest {
+
+    @Autowired ItemRepository itemRepository;
+
+    @Autowired EntityManager em;
+
+    /**
+     * 목록 projection 은 엔티티를 영속성 컨텍스트에 올리지 않고 dtype 까지 채운다.
+     */
+    @Test
+    @MaxQueries(select = 1)
+    void findSummaries() {
+        // given
+        Album album = createAlbum("summary album", 20000, 5);
+        em.flush();
+        em.clear();
+        QueryCounter.reset();
+
+        // when
+        List<ItemSummary> summaries = itemRepository.findSummaries();
+
+        // then
+        assertThat(summaries).extracting(ItemSummary::getId).isSorted();
+        ItemSummary summary = summaries.stream()
+                .filter(s -> s.getId().equals(album.getId()))
+                .findFirst().orElseThrow();
+        assertThat(summary.getDtype()).isEqualTo("Album");
+        assertThat(summary.getName()).isEqualTo("summary album");
+        assertThat(summary.getPrice()).isEqualTo(20000);
+        assertThat(summary.getStockQuantity()).isEqualTo(5);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    /**
+     * 종류별 조회 Test
+     */
+    @Test
+    void findSummariesByDtype() {
+        // given
+        Album album = createAlbum("dtype album", 10000, 1);
+        Book book = new Book();
+        book.setName("dtype book");
+        book.setPrice(10000);
+        book.setStockQuantity(1);
+        itemRepository.save(book);
+        em.flush();
+        em.clear();
+
+        // when
+        List<ItemSummary> albums = itemRepository.findSummaries("Album");
+        List<ItemSummary> books = itemRepository.findSummaries("Book");
+
+        // then
+        assertThat(albums).extracting(ItemSummary::getDtype).containsOnly("Album");
+        assertThat(albums).extracting(ItemSummary::getId).contains(album.getId()).doesNotContain(book.getId());
+        assertThat(books).extracting(ItemSummary::getDtype).containsOnly("Book");
+        assertThat(books).extracting(ItemSummary::getId).contains(book.getId());
+        assertThat(albums.size() + books.size() + itemRepository.findSummaries("Movie").size())
+                .isEqualTo(itemRepository.findSummaries().size());
+        assertThatThrownBy(() -> itemRepository.findSummaries("Item"))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class) // @Repository 예외 변환
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Album createAlbum(String name, int price, int stockQuantity) {
+        Album album = new Album();
+        album.setName(name);
+        album.setPrice(price);
+        album.setStockQuantity(stockQuantity);
+        album.setArtist("artist");
+        itemRepository.save(album);
+        return album;
+    }
+}
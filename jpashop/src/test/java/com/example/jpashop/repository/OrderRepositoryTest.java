@@ -0,0 +1,126 @@
+package com.example.jpashop.repository;
+
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderItem;
+import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.support.MaxQueries;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class OrderRepositoryTest {
+
+    @Autowired OrderRepository orderRepository;
+
+    @Autowired EntityManager em;
+
+    /**
+     * keyset 페이징 Test
+     */
+    @Test
+    void findAllWithMemberDeliveryByCursor() {
+        // given
+        List<Order> all = orderRepository.findAllWithMemberDelivery(null, 1000);
+
+        // when
+        List<Order> paged = new ArrayList<>();
+        OrderCursor cursor = null;
+        while (true) {
+            List<Order> page = orderRepository.findAllWithMemberDelivery(cursor, 1);
+            if (page.isEmpty()) {
+                break;
+            }
+            paged.addAll(page);
+
+            Order last = page.get(page.size() - 1);
+            cursor = OrderCursor.decode(new OrderCursor(last.getOrderDate(), last.getId()).encode());
+        }
+
+        // then
+        assertThat(paged).containsExactlyElementsOf(all);
+    }
+
+    /**
+     * 검색 조건 조합 4가지 모두 named query 와 QueryDSL 결과가 같아야 한다.
+     */
+    @Test
+    void findAllBySearchShape() {
+        // given
+        Order any = orderRepository.findAll(new OrderSearch()).get(0);
+        String memberName = any.getMember().getName();
+
+        for (OrderStatus status : new OrderStatus[]{null, OrderStatus.ORDER}) {
+            for (String name : new String[]{null, memberName}) {
+                OrderSearch orderSearch = new OrderSearch();
+                orderSearch.setOrderStatus(status);
+                orderSearch.setMemberName(name);
+
+                // when
+                List<Order> orders = orderRepository.findAll(orderSearch);
+
+                // then
+                assertThat(orders).containsExactlyInAnyOrderElementsOf(orderRepository.findAllByQueryDsl(orderSearch));
+                assertThat(orders).isNotEmpty()
+                        .allMatch(o -> status == null || o.getStatus() == status)
+                        .allMatch(o -> name == null || o.getMember().getName().equals(name));
+            }
+        }
+    }
+
+    /**
+     * 주문 + 회원 + 배송(fetch join) 1번, 주문상품 / 상품은 batch fetch 로 1번씩 조회해야 한다.
+     * 주문마다 지연 로딩이 발생하면(N + 1) 실패한다.
+     */
+    @Test
+    @MaxQueries(3)
+    void findAllWithMemberDeliveryNoNPlusOne() {
+        // when
+        List<Order> orders = orderRepository.findAllWithMemberDelivery(0, 100);
+
+        // then
+        for (Order order : orders) {
+            order.getMember().getName();
+            order.getDelivery().getAddress();
+            for (OrderItem orderItem : order.getOrderItems()) {
+                orderItem.getItem().getName();
+            }
+        }
+        assertThat(orders).isNotEmpty();
+    }
+
+    /**
+     * 공유하는 목록 쿼리로 로딩한 엔티티도 쓰기 트랜잭션(OSIV 로 이어지는 요청)에서 수정하면 반영된다.
+     */
+    @Test
+    void fetchJoinListIsWritable() {
+        // given
+        Order order = orderRepository.findAllWithItem().get(0);
+        OrderStatus status = order.getStatus();
+
+        // when
+        order.setStatus(status == OrderStatus.ORDER ? OrderStatus.CANCEL : OrderStatus.ORDER);
+        em.flush();
+        em.clear();
+
+        // then
+        assertThat(em.unwrap(Session.class).isDefaultReadOnly()).isFalse();
+        assertThat(orderRepository.findOne(order.getId()).getStatus()).isNotEqualTo(status);
+    }
+
+    @Test
+    void invalidCursor() {
+        assertThatThrownBy(() -> OrderCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
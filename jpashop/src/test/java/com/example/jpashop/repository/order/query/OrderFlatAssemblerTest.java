@@ -0,0 +1,35 @@
+package com.example.jpashop.repository.order.query;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderFlatAssemblerTest {
+
+    @Test
+    void assemble() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        Address address = new Address("서울", "1", "1111");
+        List<OrderFlatDto> flats = List.of(
+                new OrderFlatDto(5L, "userA", now, OrderStatus.ORDER, address, 50000, "JPA BOOK1", 10000, 1),
+                new OrderFlatDto(5L, "userA", now, OrderStatus.ORDER, address, 50000, "JPA BOOK2", 20000, 2),
+                new OrderFlatDto(9L, "userB", now, OrderStatus.CANCEL, address, 90000, "SPRING BOOK1", 30000, 3)
+        );
+
+        // when
+        List<OrderQueryDto> result = OrderFlatAssembler.assemble(flats);
+
+        // then
+        assertThat(result).extracting(OrderQueryDto::getOrderId).containsExactly(5L, 9L);
+        assertThat(result.get(0).getOrderItems()).extracting(OrderItemQueryDto::getItemName)
+                .containsExactly("JPA BOOK1", "JPA BOOK2");
+        assertThat(result.get(1).getOrderStatus()).isEqualTo(OrderStatus.CANCEL);
+        assertThat(result.get(1).getOrderItems()).hasSize(1);
+    }
+}
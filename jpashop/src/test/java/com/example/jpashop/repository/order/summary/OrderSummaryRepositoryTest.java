@@ -0,0 +1,145 @@
+package com.example.jpashop.repository.order.summary;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.domain.OrderSummary;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.service.ItemService;
+import com.example.jpashop.service.MemberService;
+import com.example.jpashop.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요약은 커밋 직전에 갱신되므로 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class OrderSummaryRepositoryTest {
+
+    @Autowired OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired MemberService memberService;
+
+    @Autowired ItemService itemService;
+
+    @Autowired OrderService orderService;
+
+    @Autowired EntityManager em;
+
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void maintainedOnOrderChanges() {
+        // given
+        Member member = createMember();
+        Long orderId = orderService.order(member.getId(), createBook(10000).getId(), 3);
+
+        // when
+        OrderSummary ordered = summary(orderId);
+        orderService.cancelOrder(orderId);
+        OrderSummary canceled = summary(orderId);
+        memberService.update(member.getId(), member.getName() + "-new");
+        OrderSummary renamed = summary(orderId);
+
+        // then
+        assertThat(ordered.getMemberName()).isEqualTo(member.getName());
+        assertThat(ordered.getAddress().getCity()).isEqualTo("서울");
+        assertThat(ordered.getStatus()).isEqualTo(OrderStatus.ORDER);
+        assertThat(ordered.getTotalPrice()).isEqualTo(30000);
+        assertThat(ordered.getItemCount()).isEqualTo(1);
+
+        assertThat(canceled.getStatus()).isEqualTo(OrderStatus.CANCEL);
+        assertThat(renamed.getMemberName()).isEqualTo(member.getName() + "-new");
+    }
+
+    /**
+     * 배송지만 바뀌어도 요약의 주소가 바뀐다.
+     */
+    @Test
+    void maintainedOnDeliveryChange() {
+        // given
+        Member member = createMember();
+        Long orderId = orderService.order(member.getId(), createBook(10000).getId(), 1);
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.find(Order.class, orderId).getDelivery().setAddress(new Address("부산", "바닷가", "456-456")));
+
+        // then
+        assertThat(summary(orderId).getAddress().getCity()).isEqualTo("부산");
+    }
+
+    /**
+     * 주문 트랜잭션이 롤백되면 요약도 남지 않는다.
+     */
+    @Test
+    void rollback() {
+        // given
+        Member member = createMember();
+        Long itemId = createBook(10000).getId();
+
+        // when
+        Long orderId = new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = orderService.order(member.getId(), itemId, 1);
+            em.flush();
+            status.setRollbackOnly();
+            return id;
+        });
+
+        // then
+        assertThat(em.find(OrderSummary.class, orderId)).isNull();
+    }
+
+    /**
+     * 주문 id 역순 keyset 페이징, 원본 주문 수와 같아야 한다.
+     */
+    @Test
+    void findPage() {
+        // given
+        Member member = createMember();
+        orderService.order(member.getId(), createBook(1000).getId(), 1);
+
+        // when
+        List<OrderSummary> first = orderSummaryRepository.findPage(null, 1);
+        List<OrderSummary> all = orderSummaryRepository.findPage(null, 10_000);
+        List<OrderSummary> next = orderSummaryRepository.findPage(first.get(0).getOrderId(), 10_000);
+
+        // then
+        assertThat(all).hasSize(em.createQuery("select count(o) from Order o", Long.class).getSingleResult().intValue());
+        assertThat(all).extracting(OrderSummary::getOrderId).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(next).hasSize(all.size() - 1);
+    }
+
+    private OrderSummary summary(Long orderId) {
+        em.clear();
+        return em.find(OrderSummary.class, orderId);
+    }
+
+    private Member createMember() {
+        Member member = new Member();
+        member.setName("summary-" + UUID.randomUUID());
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        memberService.join(member);
+        return member;
+    }
+
+    private Book createBook(int price) {
+        Book book = new Book();
+        book.setName("요약 JPA");
+        book.setPrice(price);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        return book;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.jpashop.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkedInLoaderTest {
+
+    /**
+     * batchSize 단위로 나누고 2의 거듭제곱 크기로 채우는지 Test
+     */
+    @Test
+    void chunk() {
+        ChunkedInLoader loader = new ChunkedInLoader(8, null);
+
+        List<List<Long>> chunks = loader.chunk(ids(11));
+
+        assertThat(chunks).extracting(List::size).containsExactly(8, 4);
+        assertThat(chunks.get(1)).containsExactly(9L, 10L, 11L, 11L);
+    }
+
+    @Test
+    void load() {
+        ChunkedInLoader loader = new ChunkedInLoader(3, null);
+
+        Map<Long, List<Long>> result = loader.load(ids(7), this::twoRowsPerId, row -> row / 10);
+
+        assertThat(result).hasSize(7);
+        assertThat(result.get(7L)).containsExactly(70L, 71L);
+    }
+
+    /**
+     * chunk 를 동시에 실행해도 결과가 같은지 Test
+     */
+    @Test
+    void loadConcurrently() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ChunkedInLoader loader = new ChunkedInLoader(3, executor);
+
+            Map<Long, List<Long>> result = loader.load(ids(100), this::twoRowsPerId, row -> row / 10);
+
+            assertThat(result).hasSize(100);
+            assertThat(result.get(100L)).containsExactly(1000L, 1001L);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * parallelism 으로 생성하면 자체 스레드 풀에서 chunk 를 실행하는지 Test
+     */
+    @Test
+    void loadWithOwnPool() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        try (ChunkedInLoader loader = new ChunkedInLoader(3, 4)) {
+            Map<Long, List<Long>> result = loader.load(ids(100), ids -> {
+                threads.add(Thread.currentThread().getName());
+                return twoRowsPerId(ids);
+            }, row -> row / 10);
+
+            assertThat(result).hasSize(100);
+        }
+        assertThat(threads).anyMatch(name -> name.startsWith("in-query-"));
+    }
+
+    // in 절 동작처럼 중복된 id 는 한번만 조회된다.
+    private List<Long> twoRowsPerId(List<Long> ids) {
+        return ids.stream()
+                .distinct()
+                .flatMap(id -> List.of(id * 10, id * 10 + 1).stream())
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.jpashop.repository.support;
+
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.Order;
+import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.repository.OrderRepository;
+import com.example.jpashop.repository.OrderSearch;
+import com.example.jpashop.service.ItemService;
+import com.example.jpashop.service.MemberService;
+import com.example.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋 후에 인덱스에 반영되는지 확인해야 하므로 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class MemberNameIndexTest {
+
+    @Autowired MemberNameIndex memberNameIndex;
+
+    @Autowired MemberService memberService;
+
+    @Autowired ItemService itemService;
+
+    @Autowired OrderService orderService;
+
+    @Autowired OrderRepository orderRepository;
+
+    @Autowired PlatformTransactionManager transactionManager;
+
+    /**
+     * 이름 일치 / 앞부분 일치는 인덱스로, 그 외 패턴은 like 로 같은 주문을 찾는다.
+     */
+    @Test
+    void searchOrdersByMemberName() {
+        // given
+        String prefix = "index-" + UUID.randomUUID();
+        Member member = createMember(prefix + "-kim");
+        createMember(prefix + "-lee");
+        Long orderId = orderService.order(member.getId(), createBook().getId(), 1);
+
+        // when
+        List<Order> exact = orderRepository.findAll(search(prefix + "-kim", OrderStatus.ORDER));
+        List<Order> byPrefix = orderRepository.findAll(search(prefix + "%", null));
+        List<Order> byLike = orderRepository.findAll(search("%" + prefix.substring(6) + "-kim", null));
+
+        // then
+        assertThat(memberNameIndex.find(prefix + "-kim")).contains(Set.of(member.getId()));
+        assertThat(memberNameIndex.find(prefix + "%").orElseThrow()).hasSize(2);
+        assertThat(memberNameIndex.find("%" + prefix)).isEmpty();
+
+        assertThat(exact).extracting(Order::getId).containsExactly(orderId);
+        assertThat(byPrefix).extracting(Order::getId).containsExactly(orderId);
+        assertThat(byLike).extracting(Order::getId).containsExactly(orderId);
+        assertThat(orderRepository.findAll(search(prefix + "-lee", null))).isEmpty();
+    }
+
+    @Test
+    void rename() {
+        // given
+        String name = "rename-" + UUID.randomUUID();
+        Member member = createMember(name);
+
+        // when
+        memberService.update(member.getId(), name + "-new");
+
+        // then
+        assertThat(memberNameIndex.find(name)).contains(Set.of());
+        assertThat(memberNameIndex.find(name + "-new")).contains(Set.of(member.getId()));
+    }
+
+    /**
+     * 롤백된 회원은 인덱스에 반영되지 않아야 한다.
+     */
+    @Test
+    void rollback() {
+        // given
+        String name = "rollback-" + UUID.randomUUID();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            createMember(name);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(memberNameIndex.find(name)).contains(Set.of());
+    }
+
+    private OrderSearch search(String memberName, OrderStatus status) {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName(memberName);
+        orderSearch.setOrderStatus(status);
+        return orderSearch;
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        memberService.join(member);
+        return member;
+    }
+
+    private Book createBook() {
+        Book book = new Book();
+        book.setName("인덱스 JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        return book;
+    }
+}
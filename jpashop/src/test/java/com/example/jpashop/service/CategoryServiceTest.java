@@ -0,0 +1,101 @@
+package com.example.jpashop.service;
+
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.domain.item.CategoryClosure;
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.support.MaxQueries;
+import com.example.jpashop.support.QueryCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 트리 스냅샷은 커밋 후에 갱신되므로 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class CategoryServiceTest {
+
+    @Autowired CategoryService categoryService;
+
+    @Autowired ItemService itemService;
+
+    @Autowired EntityManager em;
+
+    /**
+     * 깊이와 상관없이 하위 트리 상품을 쿼리 1번으로 조회
+     */
+    @Test
+    @MaxQueries(select = 3)
+    void findItemsInSubtree() {
+        // given
+        Long root = categoryService.saveCategory("도서", null);
+        Long it = categoryService.saveCategory("IT", root);
+        Long java = categoryService.saveCategory("자바", it);
+        Item rootBook = addBook(root, "도서 JPA");
+        Item itBook = addBook(it, "IT JPA");
+        Item javaBook = addBook(java, "자바 JPA");
+
+        List<CategoryClosure> closures = em.createQuery(
+                        "select cc from CategoryClosure cc where cc.descendant.id = :id order by cc.depth", CategoryClosure.class)
+                .setParameter("id", java)
+                .getResultList();
+        QueryCounter.reset();
+
+        // when
+        List<Item> rootItems = categoryService.findItemsInSubtree(root);
+        List<Item> itItems = categoryService.findItemsInSubtree(it);
+        List<Item> javaItems = categoryService.findItemsInSubtree(java);
+
+        // then
+        assertThat(closures).extracting(CategoryClosure::getDepth).containsExactly(0, 1, 2);
+        assertThat(rootItems).extracting(Item::getId)
+                .containsExactlyInAnyOrder(rootBook.getId(), itBook.getId(), javaBook.getId());
+        assertThat(itItems).extracting(Item::getId).containsExactlyInAnyOrder(itBook.getId(), javaBook.getId());
+        assertThat(javaItems).extracting(Item::getId).containsExactly(javaBook.getId());
+    }
+
+    /**
+     * 변경이 없으면 같은 스냅샷, 카테고리가 추가되면 새 스냅샷
+     */
+    @Test
+    void treeSnapshot() {
+        // given
+        Long root = categoryService.saveCategory("음반", null);
+        CategoryTree before = categoryService.tree();
+
+        // when
+        Long child = categoryService.saveCategory("재즈", root);
+        CategoryTree after = categoryService.tree();
+
+        // then
+        assertThat(categoryService.tree()).isSameAs(after);
+        assertThat(after).isNotSameAs(before);
+        assertThat(before.find(child)).isEmpty();
+        assertThat(after.find(root).orElseThrow().getChildren())
+                .extracting(CategoryTree.Node::getId).containsExactly(child);
+        assertThat(after.getRoots()).extracting(CategoryTree.Node::getId).contains(root);
+    }
+
+    @Test
+    void 존재하지_않는_부모_카테고리() {
+        // when, then
+        assertThatThrownBy(() -> categoryService.saveCategory("재즈", -1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Item addBook(Long categoryId, String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        categoryService.addItem(categoryId, book.getId());
+        return book;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.jpashop.service;
 
 import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.support.MaxQueries;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ public class ItemUpdateTest {
     EntityManager em;
 
     @Test
+    @MaxQueries(select = 1, update = 0)
     void updateTest() {
         Book book = em.find(Book.class, 1L);
 
@@ -0,0 +1,59 @@
+package com.example.jpashop.service;
+
+import com.example.jpashop.domain.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class OptimisticLockRetryTest {
+
+    @Autowired OptimisticLockRetry retry;
+
+    /**
+     * 버전 충돌이면 다시 실행한다.
+     */
+    @Test
+    void retryOnConflict() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        String result = retry.execute("test", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Order.class, 1L);
+            }
+            return "ok";
+        });
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+    }
+
+    /**
+     * max-attempts 만큼 실패하면 예외를 그대로 던지고, 다른 예외는 재시도하지 않는다.
+     */
+    @Test
+    void giveUp() {
+        AtomicInteger conflicts = new AtomicInteger();
+        assertThatThrownBy(() -> retry.run("test", () -> {
+            conflicts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Order.class, 1L);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(conflicts).hasValue(5);
+
+        AtomicInteger failures = new AtomicInteger();
+        assertThatThrownBy(() -> retry.run("test", () -> {
+            failures.incrementAndGet();
+            throw new IllegalStateException("이미 취소된 주문입니다");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(failures).hasValue(1);
+    }
+}
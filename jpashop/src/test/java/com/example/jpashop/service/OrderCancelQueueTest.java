@@ -0,0 +1,127 @@
+package com.example.jpashop.service;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.OrderStatus;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.repository.OrderRepository;
+import com.example.jpashop.service.CancelTicket.CancelStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 취소는 별도 트랜잭션(flush)에서 처리되므로 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class OrderCancelQueueTest {
+
+    @Autowired OrderCancelQueue orderCancelQueue;
+
+    @Autowired OrderService orderService;
+
+    @Autowired OrderRepository orderRepository;
+
+    @Autowired MemberService memberService;
+
+    @Autowired ItemService itemService;
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    /**
+     * 같은 상품의 여러 취소 건을 모아서 재고를 복구하고, 취소할 수 없는 요청만 실패 처리
+     */
+    @Test
+    void cancelInBatch() {
+        // given
+        Member member = createMember();
+        Book book = createBook(10);
+        Long orderId1 = orderService.order(member.getId(), book.getId(), 2);
+        Long orderId2 = orderService.order(member.getId(), book.getId(), 3);
+
+        // when
+        CancelTicket ticket1 = orderCancelQueue.submit(orderId1);
+        CancelTicket ticket2 = orderCancelQueue.submit(orderId2);
+        CancelTicket duplicate = orderCancelQueue.submit(orderId1);
+        CancelTicket notFound = orderCancelQueue.submit(-1L);
+        orderCancelQueue.flush();
+
+        // then
+        assertThat(ticket1.getStatus()).isEqualTo(CancelStatus.CANCELED);
+        assertThat(ticket2.getStatus()).isEqualTo(CancelStatus.CANCELED);
+        assertThat(duplicate.getStatus()).isEqualTo(CancelStatus.FAILED);
+        assertThat(duplicate.getMessage()).isEqualTo("이미 취소된 주문입니다");
+        assertThat(notFound.getStatus()).isEqualTo(CancelStatus.FAILED);
+
+        assertThat(orderRepository.findOne(orderId1).getStatus()).isEqualTo(OrderStatus.CANCEL);
+        assertThat(orderRepository.findOne(orderId2).getStatus()).isEqualTo(OrderStatus.CANCEL);
+        assertThat(itemService.findOne(book.getId()).getStockQuantity()).isEqualTo(10);
+    }
+
+    /**
+     * batch 트랜잭션이 실패하면 요청마다 다시 처리해서 실패한 요청만 실패 처리
+     */
+    @Test
+    void retryIndividuallyWhenBatchFails() {
+        // given
+        Member member = createMember();
+        Book book = createBook(10);
+        Book overflow = createBook(10);
+        Long orderId = orderService.order(member.getId(), book.getId(), 2);
+        Long overflowOrderId = orderService.order(member.getId(), overflow.getId(), 1);
+        // 재고 복구 update 가 int 범위를 넘어 실패하도록 만든다.
+        jdbcTemplate.update("update item set stock_quantity = ? where item_id = ?", Integer.MAX_VALUE, overflow.getId());
+
+        // when
+        CancelTicket ticket = orderCancelQueue.submit(orderId);
+        CancelTicket failed = orderCancelQueue.submit(overflowOrderId);
+        orderCancelQueue.flush();
+
+        // then
+        assertThat(ticket.getStatus()).isEqualTo(CancelStatus.CANCELED);
+        assertThat(failed.getStatus()).isEqualTo(CancelStatus.FAILED);
+        assertThat(orderRepository.findOne(orderId).getStatus()).isEqualTo(OrderStatus.CANCEL);
+        assertThat(orderRepository.findOne(overflowOrderId).getStatus()).isEqualTo(OrderStatus.ORDER);
+        assertThat(itemService.findOne(book.getId()).getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void findTicket() {
+        // given
+        Member member = createMember();
+        Long orderId = orderService.order(member.getId(), createBook(10).getId(), 1);
+
+        // when
+        CancelTicket ticket = orderCancelQueue.submit(orderId);
+        CancelStatus before = orderCancelQueue.find(ticket.getTicketId()).orElseThrow().getStatus();
+        orderCancelQueue.flush();
+
+        // then
+        assertThat(before).isIn(CancelStatus.PENDING, CancelStatus.CANCELED);
+        assertThat(orderCancelQueue.find(ticket.getTicketId())).get()
+                .extracting(CancelTicket::getStatus).isEqualTo(CancelStatus.CANCELED);
+        assertThat(orderCancelQueue.find("unknown")).isEmpty();
+    }
+
+    private Member createMember() {
+        Member member = new Member();
+        member.setName("cancel-" + UUID.randomUUID());
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        memberService.join(member);
+        return member;
+    }
+
+    private Book createBook(int stockQuantity) {
+        Book book = new Book();
+        book.setName("취소 JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(stockQuantity);
+        itemService.saveItem(book);
+        return book;
+    }
+}
@@ -5,15 +5,21 @@ import com.example.jpashop.domain.Member;
 import com.example.jpashop.domain.Order;
 import com.example.jpashop.domain.OrderStatus;
 import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.domain.item.Item;
 import com.example.jpashop.exception.NotEnoughStockException;
 import com.example.jpashop.repository.OrderRepository;
+import com.example.jpashop.support.MaxQueries;
+import com.example.jpashop.support.QueryCounter;
 import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 
@@ -87,6 +93,90 @@ class OrderServiceTest {
         // then
         Order findOrder = orderRepository.findOne(orderId);
         assertThat(book.getStockQuantity()).isEqualTo(10);
+        assertThat(findOrder.getTotalPrice()).isEqualTo(10000 * orderCount);
+    }
+
+    /**
+     * 이미 취소된 주문은 다시 취소할 수 없다. (재고가 두 번 복구되지 않아야 한다.)
+     */
+    @Test
+    void orderCancelTwice() {
+        // given
+        Member member = createMember();
+        Book book = createBook();
+        Long orderId = orderService.order(member.getId(), book.getId(), 2);
+        orderService.cancelOrder(orderId);
+
+        // when
+        Assertions.assertThatThrownBy(() -> orderService.cancelOrder(orderId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("이미 취소된 주문입니다");
+
+        // then
+        assertThat(book.getStockQuantity()).isEqualTo(10);
+    }
+
+    /**
+     * 주문 금액은 주문상품 컬렉션을 초기화하지 않고 조회되어야 한다.
+     */
+    @Test
+    void totalPriceWithoutOrderItems() {
+        // given
+        Member member = createMember();
+        Book book = createBook();
+        Long orderId = orderService.order(member.getId(), book.getId(), 3);
+        em.flush();
+        em.clear();
+
+        // when
+        Order findOrder = orderRepository.findOne(orderId);
+
+        // then
+        assertThat(findOrder.getTotalPrice()).isEqualTo(10000 * 3);
+        assertThat(Hibernate.isInitialized(findOrder.getOrderItems())).isFalse();
+    }
+
+    /**
+     * 대량 주문 Test
+     */
+    @Test
+    @MaxQueries(select = 9, insert = 3, update = 1)
+    void placeOrders() {
+        // given
+        Member member1 = createMember();
+        Member member2 = createMember();
+        Book book1 = createBook();
+        Book book2 = createBook();
+        em.flush();
+        QueryCounter.reset();
+
+        // when
+        List<Long> orderIds = orderService.placeOrders(List.of(
+                new OrderRequest(member1.getId(), book1.getId(), 1),
+                new OrderRequest(member2.getId(), book1.getId(), 2),
+                new OrderRequest(member1.getId(), book2.getId(), 3)));
+
+        // then
+        assertThat(orderIds.size()).isEqualTo(3);
+        assertThat(orderRepository.findOne(orderIds.get(1)).getMember().getId()).isEqualTo(member2.getId());
+        assertThat(orderRepository.findOne(orderIds.get(2)).getTotalPrice()).isEqualTo(10000 * 3);
+        assertThat(em.find(Item.class, book1.getId()).getStockQuantity()).isEqualTo(7);
+        assertThat(em.find(Item.class, book2.getId()).getStockQuantity()).isEqualTo(7);
+    }
+
+    /**
+     * 대량 주문 중 존재하지 않는 상품 Test
+     */
+    @Test
+    void placeOrdersUnknownItem() {
+        // given
+        Member member = createMember();
+
+        // when
+        Assertions.assertThatThrownBy(() -> orderService.placeOrders(List.of(new OrderRequest(member.getId(), -1L, 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // then
     }
 
     private Book createBook() {
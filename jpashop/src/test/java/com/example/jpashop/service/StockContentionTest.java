@@ -0,0 +1,217 @@
+package com.example.jpashop.service;
+
+import com.example.jpashop.domain.Address;
+import com.example.jpashop.domain.Member;
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.domain.item.Item;
+import com.example.jpashop.exception.NotEnoughStockException;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 상품에 동시에 주문이 몰릴 때 재고 차감 방식별 정합성 / 처리량 Test
+ * 방식마다 다른 컨텍스트가 뜨므로 다른 테스트의 DB 와 섞이지 않도록 별도 H2 DB 를 사용한다.
+ */
+@Slf4j
+abstract class StockContentionTest {
+
+    static final int THREADS = 8;
+    static final int ORDERS_PER_THREAD = 10;
+
+    @Autowired OrderFacade orderFacade;
+
+    @Autowired ItemService itemService;
+
+    @Autowired MemberService memberService;
+
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Autowired EntityManagerFactory emf;
+
+    /**
+     * 주문 수보다 재고가 충분한 경우
+     */
+    @Test
+    void concurrentOrders() throws Exception {
+        int stock = THREADS * ORDERS_PER_THREAD;
+        Result result = orderConcurrently(stock);
+
+        assertThat(result.success + result.conflict + result.notEnoughStock).isEqualTo(THREADS * ORDERS_PER_THREAD);
+        assertThat(result.remainingStock).isEqualTo(stock - result.success);
+    }
+
+    /**
+     * 재고보다 주문이 많은 경우에도 초과 판매되지 않는지 Test
+     */
+    @Test
+    void noOversell() throws Exception {
+        int stock = THREADS * ORDERS_PER_THREAD / 2;
+        Result result = orderConcurrently(stock);
+
+        assertThat(result.success).isLessThanOrEqualTo(stock);
+        assertThat(result.remainingStock).isEqualTo(stock - result.success).isNotNegative();
+    }
+
+    Result orderConcurrently(int stock) throws Exception {
+        Member member = new Member();
+        member.setName("동시주문 회원 " + System.nanoTime());
+        member.setAddress(new Address("서울", "1", "1111"));
+        Long memberId = memberService.join(member);
+
+        Book book = new Book();
+        book.setName("동시주문 상품");
+        book.setPrice(10000);
+        book.setStockQuantity(stock);
+        itemService.saveItem(book);
+
+        Result result = new Result();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ORDERS_PER_THREAD; j++) {
+                    try {
+                        orderFacade.order(memberId, book.getId(), 1);
+                        result.successCount.incrementAndGet();
+                    } catch (ObjectOptimisticLockingFailureException e) {
+                        result.conflictCount.incrementAndGet();
+                    } catch (NotEnoughStockException e) {
+                        result.notEnoughStockCount.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), 1);
+        executor.shutdown();
+        flushStock();
+
+        result.success = result.successCount.get();
+        result.conflict = result.conflictCount.get();
+        result.notEnoughStock = result.notEnoughStockCount.get();
+        result.remainingStock = transactionTemplate.execute(status -> {
+            Item item = itemService.findOne(book.getId());
+            return item.getStockQuantity();
+        });
+
+        log.info("[{}] success={}, conflict={}, notEnoughStock={}, {} orders/s",
+                getClass().getSimpleName(), result.success, result.conflict, result.notEnoughStock,
+                result.success * 1000L / elapsedMs);
+        return result;
+    }
+
+    /**
+     * DB 에 재고를 늦게 반영하는 방식은 남은 재고를 조회하기 전에 반영한다.
+     */
+    void flushStock() {
+    }
+
+    static class Result {
+        final AtomicInteger successCount = new AtomicInteger();
+        final AtomicInteger conflictCount = new AtomicInteger();
+        final AtomicInteger notEnoughStockCount = new AtomicInteger();
+        int success;
+        int conflict;
+        int notEnoughStock;
+        int remainingStock;
+    }
+
+    @SpringBootTest(properties = {
+            "jpashop.stock.strategy=optimistic",
+            "spring.datasource.url=jdbc:h2:mem:stock-optimistic"
+    })
+    static class OptimisticTest extends StockContentionTest {
+    }
+
+    @SpringBootTest(properties = {
+            "jpashop.stock.strategy=atomic",
+            "spring.datasource.url=jdbc:h2:mem:stock-atomic"
+    })
+    static class AtomicTest extends StockContentionTest {
+
+        /**
+         * 조건부 update 는 충돌로 실패하는 주문이 없다.
+         */
+        @Test
+        void noConflict() throws Exception {
+            Result result = orderConcurrently(THREADS * ORDERS_PER_THREAD);
+
+            assertThat(result.conflict).isZero();
+            assertThat(result.success).isEqualTo(THREADS * ORDERS_PER_THREAD);
+        }
+
+        /**
+         * 재고를 차감한 상품만 2차 캐시에서 지우고, 다른 상품의 캐시는 유지한다.
+         */
+        @Test
+        void evictOnlyOrderedItem() {
+            // given
+            Member member = new Member();
+            member.setName("캐시 회원 " + System.nanoTime());
+            member.setAddress(new Address("서울", "1", "1111"));
+            Long memberId = memberService.join(member);
+            Long ordered = createBook(10);
+            Long other = createBook(10);
+            itemService.findOne(ordered);
+            itemService.findOne(other);
+
+            // when
+            orderFacade.order(memberId, ordered, 3);
+
+            // then
+            Cache cache = emf.getCache();
+            assertThat(cache.contains(Item.class, ordered)).isFalse();
+            assertThat(cache.contains(Item.class, other)).isTrue();
+            assertThat(itemService.findOne(ordered).getStockQuantity()).isEqualTo(7);
+        }
+
+        private Long createBook(int stock) {
+            Book book = new Book();
+            book.setName("캐시 상품");
+            book.setPrice(10000);
+            book.setStockQuantity(stock);
+            itemService.saveItem(book);
+            return book.getId();
+        }
+    }
+
+    @SpringBootTest(properties = {
+            "jpashop.stock.strategy=ledger",
+            "spring.datasource.url=jdbc:h2:mem:stock-ledger"
+    })
+    static class LedgerTest extends StockContentionTest {
+
+        @Autowired StockLedger stockLedger;
+
+        @Override
+        void flushStock() {
+            stockLedger.flush();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.jpashop.service;
+
+import com.example.jpashop.domain.item.Book;
+import com.example.jpashop.exception.NotEnoughStockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "jpashop.stock.strategy=ledger",
+        "jpashop.stock.ledger.flush-interval-ms=600000",
+        "spring.datasource.url=jdbc:h2:mem:stock-ledger-unit"
+})
+class StockLedgerTest {
+
+    @Autowired StockLedger stockLedger;
+
+    @Autowired ItemService itemService;
+
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void 커밋된_차감만_DB에_반영() {
+        // given
+        Long itemId = createItem(10);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(itemId, 3));
+        transactionTemplate.executeWithoutResult(status -> {
+            stockLedger.reserve(itemId, 2);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(stockLedger.available(itemId)).isEqualTo(7);
+        assertThat(dbStock(itemId)).isEqualTo(10);
+
+        stockLedger.flush();
+        assertThat(dbStock(itemId)).isEqualTo(7);
+
+        // 반영한 변경량은 다시 반영하지 않는다.
+        stockLedger.flush();
+        assertThat(dbStock(itemId)).isEqualTo(7);
+    }
+
+    @Test
+    void 재고_초과_차감() {
+        // given
+        Long itemId = createItem(1);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(itemId, 1));
+
+        // then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(itemId, 1)))
+                .isInstanceOf(NotEnoughStockException.class);
+        assertThat(stockLedger.available(itemId)).isZero();
+    }
+
+    @Test
+    void 재고_직접_수정_후_보정() {
+        // given
+        Long itemId = createItem(10);
+        transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(itemId, 4));
+
+        // when
+        itemService.updateItem(itemId, "장부 상품", 10000, 20);
+
+        // then: 반영 대기 중인 -4 가 DB 재고 20 에 더해진다.
+        assertThat(stockLedger.available(itemId)).isEqualTo(16);
+        stockLedger.flush();
+        assertThat(dbStock(itemId)).isEqualTo(16);
+    }
+
+    @Test
+    void 보정_중_차감이_사라지지_않음() throws Exception {
+        // given
+        Long itemId = createItem(10_000);
+        int threads = 4;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // when: 차감하는 동안 계속 보정한다.
+        Thread reconciler = new Thread(() -> {
+            while (running.get()) {
+                stockLedger.reconcile(itemId);
+            }
+        });
+        reconciler.start();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(itemId, 1));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        reconciler.join();
+        executor.shutdown();
+
+        // then
+        stockLedger.reconcile(itemId);
+        assertThat(stockLedger.available(itemId)).isEqualTo(10_000 - threads * perThread);
+        stockLedger.flush();
+        assertThat(dbStock(itemId)).isEqualTo(10_000 - threads * perThread);
+    }
+
+    @Test
+    void 로딩_전에_만든_칸_유지() {
+        // given: 장부 로딩 전에 주문이 먼저 들어온 경우
+        Long itemId = createItem(10);
+        transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(itemId, 3));
+
+        // when
+        stockLedger.load();
+
+        // then: 반영 대기 중인 -3 이 사라지지 않는다.
+        assertThat(stockLedger.available(itemId)).isEqualTo(7);
+        stockLedger.flush();
+        assertThat(dbStock(itemId)).isEqualTo(7);
+    }
+
+    private Long createItem(int stock) {
+        Book book = new Book();
+        book.setName("장부 상품");
+        book.setPrice(10000);
+        book.setStockQuantity(stock);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+
+    private int dbStock(Long itemId) {
+        return jdbcTemplate.queryForObject("select stock_quantity from item where item_id = ?", Integer.class, itemId);
+    }
+}
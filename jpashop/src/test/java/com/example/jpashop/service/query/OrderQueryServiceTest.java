@@ -0,0 +1,41 @@
+package com.example.jpashop.service.query;
+
+import com.example.jpashop.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OrderQueryServiceTest {
+
+    @Autowired OrderQueryService orderQueryService;
+
+    @Autowired OrderRepository orderRepository;
+
+    /**
+     * 주문 스트리밍 Test
+     */
+    @Test
+    void exportOrders() {
+        // given
+        int orderCount = orderQueryService.orderV3().size();
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<OrderDto> exported = new ArrayList<>();
+
+        // when
+        orderQueryService.exportOrders(1, chunk -> {
+            chunkSizes.add(chunk.size());
+            exported.addAll(chunk);
+        });
+
+        // then
+        assertThat(exported).hasSize(orderCount);
+        assertThat(chunkSizes).containsOnly(1);
+        assertThat(exported).allSatisfy(order -> assertThat(order.getOrderItems()).isNotEmpty());
+    }
+}
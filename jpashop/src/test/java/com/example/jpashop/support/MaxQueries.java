@@ -0,0 +1,39 @@
+package com.example.jpashop.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 메소드 하나에서 실행할 수 있는 최대 SQL 수
+ * 초과하면 실행된 SQL 목록과 함께 테스트가 실패한다. N + 1 이 새로 생기는 것을 막는 용도
+ *
+ *   @MaxQueries(3)                      전체 3개 이하
+ *   @MaxQueries(select = 2, insert = 0) 종류별 제한 (-1 은 제한 없음)
+ *
+ * 데이터 준비(given) 에서 실행된 SQL 은 QueryCounter.reset() 으로 제외한다.
+ * SpringBootTest 의 DataSource(p6spy) 를 거치는 SQL 만 센다.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(MaxQueriesExtension.class)
+public @interface MaxQueries {
+
+    /**
+     * 전체 SQL 수
+     */
+    int value() default -1;
+
+    int select() default -1;
+
+    int insert() default -1;
+
+    int update() default -1;
+
+    int delete() default -1;
+}
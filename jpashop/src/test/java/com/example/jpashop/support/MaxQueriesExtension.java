@@ -0,0 +1,61 @@
+package com.example.jpashop.support;
+
+import com.example.jpashop.support.QueryCounter.Counts;
+import com.example.jpashop.support.QueryCounter.Type;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @MaxQueries 가 붙은 테스트 메소드의 SQL 수를 검사
+ * 테스트 메소드 실행 구간만 센다. (@BeforeEach 나 트랜잭션 롤백은 제외)
+ */
+public class MaxQueriesExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCounter.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Counts counts = QueryCounter.stop();
+        MaxQueries maxQueries = findAnnotation(context);
+        if (counts == null || maxQueries == null) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        check(violations, "total", counts.total(), maxQueries.value());
+        check(violations, "select", counts.get(Type.SELECT), maxQueries.select());
+        check(violations, "insert", counts.get(Type.INSERT), maxQueries.insert());
+        check(violations, "update", counts.get(Type.UPDATE), maxQueries.update());
+        check(violations, "delete", counts.get(Type.DELETE), maxQueries.delete());
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder("SQL 실행 횟수 초과 ").append(violations).append('\n');
+        for (int i = 0; i < counts.sqls().size(); i++) {
+            message.append(i + 1).append(". ").append(counts.sqls().get(i).replaceAll("\\s+", " ")).append('\n');
+        }
+        throw new AssertionFailedError(message.toString());
+    }
+
+    private MaxQueries findAnnotation(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxQueries.class))
+                .orElse(null);
+    }
+
+    private void check(List<String> violations, String type, int actual, int max) {
+        if (max >= 0 && actual > max) {
+            violations.add(type + " " + actual + " > " + max);
+        }
+    }
+}
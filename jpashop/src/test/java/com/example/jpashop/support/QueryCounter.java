@@ -0,0 +1,87 @@
+package com.example.jpashop.support;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * p6spy 로 실행되는 SQL 을 종류별로 센다. (@MaxQueries)
+ * 테스트 스레드에서 실행된 SQL 만 센다. (스케줄러 등 다른 스레드의 SQL 은 제외)
+ * batch 는 실행 1번으로 센다.
+ */
+@Component
+public class QueryCounter extends SimpleJdbcEventListener {
+
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    static void start() {
+        CURRENT.set(new Counts());
+    }
+
+    static Counts stop() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    /**
+     * 지금까지 센 SQL 을 버린다. 테스트 데이터 준비(given) 에서 실행된 SQL 을 제외할 때 사용한다.
+     */
+    public static void reset() {
+        if (CURRENT.get() != null) {
+            CURRENT.set(new Counts());
+        }
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.add(statementInformation.getSql());
+        }
+    }
+
+    static class Counts {
+        private final Map<Type, Integer> counts = new EnumMap<>(Type.class);
+        private final List<String> sqls = new ArrayList<>();
+
+        void add(String sql) {
+            counts.merge(typeOf(sql), 1, Integer::sum);
+            sqls.add(sql);
+        }
+
+        int get(Type type) {
+            return counts.getOrDefault(type, 0);
+        }
+
+        int total() {
+            return sqls.size();
+        }
+
+        List<String> sqls() {
+            return sqls;
+        }
+
+        private static Type typeOf(String sql) {
+            String trimmed = sql.stripLeading().toLowerCase(Locale.ROOT);
+            for (Type type : Type.values()) {
+                if (trimmed.startsWith(type.name().toLowerCase(Locale.ROOT))) {
+                    return type;
+                }
+            }
+            // merge 등
+            return trimmed.startsWith("with") ? Type.SELECT : Type.OTHER;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.jpashop.support;
+
+import com.example.jpashop.repository.OrderRepository;
+import com.example.jpashop.repository.OrderSearch;
+import com.example.jpashop.support.QueryCounter.Counts;
+import com.example.jpashop.support.QueryCounter.Type;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class QueryCounterTest {
+
+    @Autowired OrderRepository orderRepository;
+
+    /**
+     * p6spy 리스너로 등록되어 테스트 스레드의 SQL 을 세는지 Test
+     */
+    @Test
+    void countStatements() {
+        // given
+        QueryCounter.start();
+
+        // when
+        orderRepository.findAll(new OrderSearch());
+        Counts counts = QueryCounter.stop();
+
+        // then
+        assertThat(counts.get(Type.SELECT)).isEqualTo(1);
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.sqls().get(0)).containsIgnoringCase("from orders");
+    }
+}